@@ -0,0 +1,71 @@
+package com.aquaticket.aquaticketback.booking.controller;
+
+import com.aquaticket.aquaticketback.booking.service.CatalogCacheStats;
+import com.aquaticket.aquaticketback.booking.service.ReservationArchiver;
+import com.aquaticket.aquaticketback.booking.service.ReservationExporter;
+import com.aquaticket.aquaticketback.booking.service.ReservationViewWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// 운영용 (ROLE_ADMIN, SecurityConfig)
+@RestController
+@RequestMapping("/api/admin/booking")
+public class BookingAdminController {
+
+    private final ReservationViewWriter reservationViewWriter;
+    private final ReservationArchiver reservationArchiver;
+    private final CatalogCacheStats catalogCacheStats;
+    private final ReservationExporter reservationExporter;
+
+    public BookingAdminController(ReservationViewWriter reservationViewWriter, ReservationArchiver reservationArchiver,
+                                  CatalogCacheStats catalogCacheStats, ReservationExporter reservationExporter) {
+        this.reservationViewWriter = reservationViewWriter;
+        this.reservationArchiver = reservationArchiver;
+        this.catalogCacheStats = catalogCacheStats;
+        this.reservationExporter = reservationExporter;
+    }
+
+    // reservation_views 를 원본 테이블에서 다시 만든다
+    @PostMapping("/reservation-views/rebuild")
+    public ResponseEntity<Map<String, Long>> rebuildReservationViews() {
+        return ResponseEntity.ok(Map.of("affectedRows", reservationViewWriter.rebuild()));
+    }
+
+    // 끝난 회차의 예매를 지금 보관 테이블로 옮긴다 (평소에는 reservation.archive.cron)
+    @PostMapping("/archive/run")
+    public ResponseEntity<ReservationArchiver.Result> runArchive() {
+        return ResponseEntity.ok(reservationArchiver.run());
+    }
+
+    // 공연장/공연/Show/회차/좌석 2차 캐시와 쿼리 캐시의 적중률
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, CatalogCacheStats.RegionStats>> cacheStats() {
+        return ResponseEntity.ok(catalogCacheStats.snapshot());
+    }
+
+    // 공연(KOPIS id)의 예매 전체를 CSV/NDJSON 으로 스트리밍 (format=CSV|NDJSON, gzip=true 면 .gz 파일)
+    @GetMapping("/export/performances/{kopisId}/reservations")
+    public void exportReservations(@PathVariable String kopisId,
+                                   @RequestParam(defaultValue = "CSV") ReservationExporter.Format format,
+                                   @RequestParam(defaultValue = "false") boolean gzip,
+                                   @RequestParam(defaultValue = "true") boolean includeArchived,
+                                   HttpServletResponse response) {
+        String filename = "reservations-" + kopisId.replaceAll("[^A-Za-z0-9_-]", "_")
+                + (format == ReservationExporter.Format.CSV ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+        reservationExporter.export(kopisId, format, gzip, includeArchived, () -> {
+            response.setContentType(gzip ? "application/gzip"
+                    : format == ReservationExporter.Format.CSV ? "text/csv; charset=UTF-8" : "application/x-ndjson");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+            return response.getOutputStream();
+        });
+    }
+}
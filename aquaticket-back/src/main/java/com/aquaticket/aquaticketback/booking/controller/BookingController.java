@@ -1,23 +1,45 @@
 
 package com.aquaticket.aquaticketback.booking.controller;
 
+import com.aquaticket.aquaticketback.booking.dto.BookingDetailDto;
 import com.aquaticket.aquaticketback.booking.dto.BookingHistoryDto;
+import com.aquaticket.aquaticketback.booking.dto.BookingHistoryPage;
 import com.aquaticket.aquaticketback.booking.dto.ConfirmRequestDto;
+import com.aquaticket.aquaticketback.booking.dto.EnsureShowtimeBatchRequest;
+import com.aquaticket.aquaticketback.booking.dto.EnsureShowtimeBatchResponse;
 import com.aquaticket.aquaticketback.booking.dto.EnsureShowtimeRequest;
 import com.aquaticket.aquaticketback.booking.dto.EnsureShowtimeResponse;
+import com.aquaticket.aquaticketback.booking.dto.ShowtimeSlotDto;
 import com.aquaticket.aquaticketback.booking.service.BookingService;
+import com.aquaticket.aquaticketback.booking.service.ShowtimeScheduleService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/booking") // Changed to /api/booking to match the frontend request path
 public class BookingController {
+    private static final int MAX_BATCH_ITEMS = 500;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+
     private final BookingService bookingService;
+    private final ShowtimeScheduleService showtimeScheduleService;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, ShowtimeScheduleService showtimeScheduleService) {
         this.bookingService = bookingService;
+        this.showtimeScheduleService = showtimeScheduleService;
+    }
+
+    // 선택한 날짜의 회차 (공연 상세 화면의 회차 버튼)
+    @GetMapping("/performances/{kopisId}/showtimes")
+    public ResponseEntity<List<ShowtimeSlotDto>> getShowtimes(@PathVariable String kopisId, @RequestParam String date) {
+        List<ShowtimeSlotDto> slots = showtimeScheduleService.showtimesOn(kopisId, LocalDate.parse(date)).stream()
+                .map(st -> new ShowtimeSlotDto(st.getId(), st.getStartAt().toString(), st.getStartAt().format(TIME)))
+                .toList();
+        return ResponseEntity.ok(slots);
     }
 
     @GetMapping("/showtimes/{showtimeId}/availability")
@@ -30,12 +52,37 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getMyBookings());
     }
 
+    // 예매 내역 (커서 페이지). 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다
+    @GetMapping("/me/history")
+    public ResponseEntity<BookingHistoryPage> getMyBookingHistory(@RequestParam(required = false) Long cursor,
+                                                                  @RequestParam(defaultValue = "20") int size,
+                                                                  @RequestParam(required = false) String status,
+                                                                  @RequestParam(required = false) String from,
+                                                                  @RequestParam(required = false) String to) {
+        return ResponseEntity.ok(bookingService.getMyBookingHistory(cursor, size, status,
+                from != null ? LocalDate.parse(from) : null, to != null ? LocalDate.parse(to) : null));
+    }
+
+    @GetMapping("/number/{bookingNumber}")
+    public ResponseEntity<BookingDetailDto> getBookingByNumber(@PathVariable String bookingNumber) {
+        return ResponseEntity.ok(bookingService.getBookingByNumber(bookingNumber));
+    }
+
     @PostMapping("/showtimes/ensure")
     public ResponseEntity<EnsureShowtimeResponse> ensureShowtime(@RequestBody EnsureShowtimeRequest request) {
         Long showtimeId = bookingService.ensureShowtime(request.getKopisId(), request.getStartAt());
         return ResponseEntity.ok(new EnsureShowtimeResponse(showtimeId));
     }
 
+    // 여러 회차를 한 번에 (달력 화면 등). 한 요청당 최대 MAX_BATCH_ITEMS 개
+    @PostMapping("/showtimes/ensure-batch")
+    public ResponseEntity<EnsureShowtimeBatchResponse> ensureShowtimes(@RequestBody EnsureShowtimeBatchRequest request) {
+        if (request.getItems() == null || request.getItems().size() > MAX_BATCH_ITEMS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new EnsureShowtimeBatchResponse(bookingService.ensureShowtimes(request.getItems())));
+    }
+
     @PostMapping("/confirm")
     public ResponseEntity<com.aquaticket.aquaticketback.booking.dto.ConfirmResponse> confirmBooking(@RequestBody ConfirmRequestDto request) {
         Long bookingId = bookingService.confirmBooking(request);
@@ -0,0 +1,56 @@
+package com.aquaticket.aquaticketback.booking.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예매 이벤트 outbox 한 행. 예매 확정/취소와 같은 트랜잭션에서 저장되고,
+ * BookingEventRelay 가 발행한 뒤 publishedAt 을 채운다. id 는 이벤트 id 로 그대로 쓰인다 (증가 순서 = 발생 순서).
+ */
+@Entity
+@Table(name = "booking_outbox",
+        indexes = @Index(name = "idx_booking_outbox_unpublished", columnList = "published_at, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // BookingEventType
+    @Column(name = "event_type", length = 20, nullable = false)
+    private String eventType;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    @Column(name = "booking_number", length = 64)
+    private String bookingNumber;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "showtime_id")
+    private Long showtimeId;
+
+    // 쉼표 구분 좌석 id
+    @Column(name = "seat_ids", length = 1000)
+    private String seatIds;
+
+    @Column(name = "total_price")
+    private Integer totalPrice;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // relay 가 잡아 둔 기한. 지나면 다른 relay 가 다시 잡을 수 있다
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
@@ -1,9 +1,14 @@
 package com.aquaticket.aquaticketback.booking.domain;
 
+import com.aquaticket.aquaticketback.config.CatalogCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = CatalogCacheConfig.PERFORMANCE_REGION)
 @Table(name = "performances")
 @Getter
 @Setter
@@ -30,4 +35,12 @@ public class Performance {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "venue_id")
     private Venue venue;
+
+    // 가격 등급(price_tiers)을 마지막으로 파싱한 KOPIS updatedate. 값이 같으면 다시 파싱하지 않는다.
+    @Column(name = "price_updatedate", length = 30)
+    private String priceUpdatedate;
+
+    // 회차(showtimes)를 dtguidance 로 마지막으로 펼친 KOPIS updatedate. 값이 같으면 다시 만들지 않는다.
+    @Column(name = "schedule_updatedate", length = 30)
+    private String scheduleUpdatedate;
 }
\ No newline at end of file
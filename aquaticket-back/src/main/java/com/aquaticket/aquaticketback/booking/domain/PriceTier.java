@@ -0,0 +1,39 @@
+package com.aquaticket.aquaticketback.booking.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 공연별 가격 등급 (KOPIS pcseguidance 를 파싱한 결과)
+ * 예: R석 198,000원 → grade=R석, minWon=maxWon=198000
+ */
+@Entity
+@Table(name = "price_tiers",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_price_tiers_perf_grade", columnNames = {"performance_id", "grade"})
+        })
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class PriceTier {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "performance_id", nullable = false)
+    private Performance performance;
+
+    // 등급명 (R석, 전석, 스탠딩 등)
+    @Column(nullable = false, length = 50)
+    private String grade;
+
+    @Column(name = "min_won", nullable = false)
+    private Integer minWon;
+
+    @Column(name = "max_won", nullable = false)
+    private Integer maxWon;
+
+    // pcseguidance 에 나온 순서
+    @Column(name = "sort_order", nullable = false)
+    private Integer sortOrder;
+}
@@ -7,7 +7,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+// 인덱스는 db/migration 에서 관리한다 (여기는 문서용)
+@Table(name = "reservations",
+        indexes = {
+                @Index(name = "idx_resv_showtime_status", columnList = "showtime_id, status"),
+                @Index(name = "idx_resv_user_id", columnList = "user_id, id")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
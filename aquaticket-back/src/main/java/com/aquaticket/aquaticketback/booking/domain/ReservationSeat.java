@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity @Getter @Setter @NoArgsConstructor
-@Table(name="reservation_seats")
+@Table(name="reservation_seats",
+        indexes = @Index(name = "idx_rseat_resv_seat", columnList = "reservation_id, seat_id"))
 public class ReservationSeat {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
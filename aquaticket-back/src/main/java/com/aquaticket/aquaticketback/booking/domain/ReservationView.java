@@ -0,0 +1,79 @@
+package com.aquaticket.aquaticketback.booking.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예매 내역/티켓 화면용 읽기 모델 (reservations + showtimes + shows + performances + seats 를 펼쳐 둔 표).
+ * BookingService 가 확정/취소와 같은 트랜잭션에서 쓰고, ReservationViewWriter.rebuild 로 원본 테이블에서 다시 만들 수 있다.
+ */
+@Entity
+@Table(name = "reservation_views",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reservation_views_booking_number", columnNames = "booking_number"),
+        indexes = @Index(name = "idx_reservation_views_user", columnList = "user_id, reservation_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReservationView implements Persistable<Long> {
+
+    // reservations.id 와 같은 값 (생성 전략 없음)
+    @Id
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "booking_number", length = 64)
+    private String bookingNumber;
+
+    @Column(name = "performance_title", length = 255)
+    private String performanceTitle;
+
+    @Column(name = "poster_url", length = 512)
+    private String posterUrl;
+
+    @Column(name = "viewing_at")
+    private LocalDateTime viewingAt;
+
+    @Column(name = "booked_at")
+    private LocalDateTime bookedAt;
+
+    // "A 1-3, A 1-4" 형식
+    @Column(name = "seat_labels", length = 1000)
+    private String seatLabels;
+
+    @Column(name = "seat_count")
+    private Integer seatCount;
+
+    @Column(name = "total_price")
+    private Integer totalPrice;
+
+    @Column(length = 20)
+    private String status;
+
+    // id 를 직접 넣으므로 save() 가 merge(SELECT 후 INSERT) 대신 바로 persist 하도록
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return reservationId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
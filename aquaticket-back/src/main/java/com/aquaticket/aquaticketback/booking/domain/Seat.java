@@ -1,10 +1,18 @@
 package com.aquaticket.aquaticketback.booking.domain;
 
+import com.aquaticket.aquaticketback.config.CatalogCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "seats")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CatalogCacheConfig.SEAT_REGION)
+@Table(name = "seats",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uq_seat_position", columnNames = {"venue_id", "zone", "row_label", "seat_no"})
+        })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class Seat {
@@ -27,4 +35,8 @@ public class Seat {
 
     @Column(nullable = false)
     private Integer price;
+
+    // 가격 등급 (price_tiers.grade 와 매칭). 없거나 매칭되지 않으면 price 를 그대로 사용
+    @Column(name = "grade", length = 50)
+    private String grade;
 }
@@ -6,7 +6,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "seat_locks")
+@Table(name = "seat_locks",
+        indexes = @Index(name = "idx_lock_show_until", columnList = "show_id, locked_until, seat_id, reservation_id"))
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class SeatLock {
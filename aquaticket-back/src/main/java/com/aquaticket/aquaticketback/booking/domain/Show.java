@@ -1,12 +1,18 @@
 package com.aquaticket.aquaticketback.booking.domain;
 
+import com.aquaticket.aquaticketback.config.CatalogCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "shows")  // 회차 테이블
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CatalogCacheConfig.SHOW_REGION)
+@Table(name = "shows",  // 회차 테이블
+        uniqueConstraints = @UniqueConstraint(name = "uk_shows_kopis", columnNames = "kopis_id"))
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class Show {
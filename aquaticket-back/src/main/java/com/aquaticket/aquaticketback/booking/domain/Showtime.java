@@ -1,7 +1,10 @@
 package com.aquaticket.aquaticketback.booking.domain;
 
+import com.aquaticket.aquaticketback.config.CatalogCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Getter
@@ -10,7 +13,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CatalogCacheConfig.SHOWTIME_REGION)
 @Table(name = "showtimes",
+        // 같은 공연/시각의 회차는 하나만 (fix_duplicate_showtimes.sql 과 같은 이름)
+        uniqueConstraints = @UniqueConstraint(name = "uk_showtimes_kopis_start", columnNames = {"kopis_id", "start_at"}),
         indexes = {
                 @Index(name = "idx_showtime_show", columnList = "show_id"),
                 @Index(name = "idx_showtime_start_at", columnList = "start_at")
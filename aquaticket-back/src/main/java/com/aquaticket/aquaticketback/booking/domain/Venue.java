@@ -1,9 +1,14 @@
 package com.aquaticket.aquaticketback.booking.domain;
 
+import com.aquaticket.aquaticketback.config.CatalogCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CatalogCacheConfig.VENUE_REGION)
 @Table(name = "venues")
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
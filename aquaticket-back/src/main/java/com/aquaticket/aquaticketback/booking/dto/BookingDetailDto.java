@@ -0,0 +1,31 @@
+package com.aquaticket.aquaticketback.booking.dto;
+
+import com.aquaticket.aquaticketback.booking.domain.ReservationView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 예매번호로 조회한 티켓 한 장 (reservation_views 한 행) */
+@Getter
+@AllArgsConstructor
+public class BookingDetailDto {
+    private Long bookingId;
+    private String bookingNumber;
+    private String performanceTitle;
+    private String posterUrl;
+    private String viewingDate;
+    private String bookingDate;
+    private String seats;
+    private int seatCount;
+    private int totalPrice;
+    private String status;
+
+    public static BookingDetailDto from(ReservationView v) {
+        return new BookingDetailDto(v.getReservationId(), v.getBookingNumber(), v.getPerformanceTitle(), v.getPosterUrl(),
+                v.getViewingAt() != null ? v.getViewingAt().toString() : null,
+                v.getBookedAt() != null ? v.getBookedAt().toString() : null,
+                v.getSeatLabels(),
+                v.getSeatCount() != null ? v.getSeatCount() : 0,
+                v.getTotalPrice() != null ? v.getTotalPrice() : 0,
+                v.getStatus());
+    }
+}
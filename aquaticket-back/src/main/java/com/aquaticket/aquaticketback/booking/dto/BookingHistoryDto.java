@@ -3,6 +3,8 @@ package com.aquaticket.aquaticketback.booking.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 public class BookingHistoryDto {
@@ -14,4 +16,13 @@ public class BookingHistoryDto {
     private String bookingNumber;
     private int totalPrice;
     private String status;
+
+    /** ReservationViewRepository.findHistory 의 JPQL 생성자 projection 용 */
+    public BookingHistoryDto(Long bookingId, String performanceTitle, String posterUrl, LocalDateTime viewingDate,
+                             LocalDateTime bookingDate, String bookingNumber, Integer totalPrice, String status) {
+        this(bookingId, performanceTitle, posterUrl,
+                viewingDate != null ? viewingDate.toString() : null,
+                bookingDate != null ? bookingDate.toString() : null,
+                bookingNumber, totalPrice != null ? totalPrice : 0, status);
+    }
 }
@@ -0,0 +1,14 @@
+package com.aquaticket.aquaticketback.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/** 예매 내역 한 페이지. nextCursor 가 null 이면 마지막 페이지 */
+@Getter
+@AllArgsConstructor
+public class BookingHistoryPage {
+    private List<BookingHistoryDto> items;
+    private Long nextCursor;
+}
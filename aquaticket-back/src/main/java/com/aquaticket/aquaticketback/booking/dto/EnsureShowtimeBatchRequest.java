@@ -0,0 +1,14 @@
+package com.aquaticket.aquaticketback.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnsureShowtimeBatchRequest {
+    private List<EnsureShowtimeRequest> items;
+}
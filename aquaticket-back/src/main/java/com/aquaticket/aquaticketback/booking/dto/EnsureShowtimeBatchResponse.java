@@ -0,0 +1,15 @@
+package com.aquaticket.aquaticketback.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnsureShowtimeBatchResponse {
+    // kopisId → (요청한 startAt 문자열 그대로 → showtimeId)
+    private Map<String, Map<String, Long>> showtimeIds;
+}
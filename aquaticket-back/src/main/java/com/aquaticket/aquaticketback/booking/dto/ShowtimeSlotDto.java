@@ -0,0 +1,12 @@
+package com.aquaticket.aquaticketback.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ShowtimeSlotDto {
+    private Long showtimeId;
+    private String startAt; // 2025-10-20T19:00
+    private String time;    // 19:00
+}
@@ -0,0 +1,76 @@
+package com.aquaticket.aquaticketback.booking.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * KOPIS 식별자 기준 원자적 upsert.
+ * 각 테이블의 유니크 키에 INSERT ... ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id) 를 걸어,
+ * 동시에 같은 공연/회차를 만들어도 행은 하나만 생기고 양쪽 모두 같은 id 를 받는다.
+ *
+ * - venues.kopis_facility_id, performances.kopis_id, shows.kopis_id (unique)
+ * - showtimes (kopis_id, start_at) = uk_showtimes_kopis_start
+ *
+ * Hibernate 는 JDBC 로 넣은 행을 모르므로, upsert 뒤에는 쿼리 캐시(findByKopisId 등의 "없음" 결과)를 비운다.
+ */
+@Repository
+public class KopisUpsertRepository {
+
+    private static final String UPSERT_SUFFIX = " ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public KopisUpsertRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Long upsertVenue(String kopisFacilityId, String name) {
+        return upsert("INSERT INTO venues (kopis_facility_id, name) VALUES (?, ?)",
+                new Object[]{kopisFacilityId, name},
+                "SELECT id FROM venues WHERE kopis_facility_id = ?", kopisFacilityId);
+    }
+
+    public Long upsertPerformance(String kopisId, String title, String posterUrl, Long venueId) {
+        return upsert("INSERT INTO performances (kopis_id, title, poster_url, venue_id) VALUES (?, ?, ?, ?)",
+                new Object[]{kopisId, title, posterUrl, venueId},
+                "SELECT id FROM performances WHERE kopis_id = ?", kopisId);
+    }
+
+    public Long upsertShow(String kopisId, Long performanceId, LocalDateTime startsAt) {
+        return upsert("INSERT INTO shows (kopis_id, performance_id, starts_at) VALUES (?, ?, ?)",
+                new Object[]{kopisId, performanceId, Timestamp.valueOf(startsAt)},
+                "SELECT id FROM shows WHERE kopis_id = ?", kopisId);
+    }
+
+    public Long upsertShowtime(String kopisId, Long showId, LocalDateTime startAt) {
+        Timestamp ts = Timestamp.valueOf(startAt);
+        return upsert("INSERT INTO showtimes (kopis_id, show_id, start_at) VALUES (?, ?, ?)",
+                new Object[]{kopisId, showId, ts},
+                "SELECT id FROM showtimes WHERE kopis_id = ? AND start_at = ?", kopisId, ts);
+    }
+
+    private Long upsert(String insertSql, Object[] args, String lookupSql, Object... lookupArgs) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(insertSql + UPSERT_SUFFIX, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) ps.setObject(i + 1, args[i]);
+            return ps;
+        }, keyHolder);
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictDefaultQueryRegion();
+
+        Number key = keyHolder.getKeyList().isEmpty() ? null : keyHolder.getKey();
+        if (key != null && key.longValue() > 0) return key.longValue();
+        // 드라이버가 기존 행에 대해 키를 돌려주지 않는 경우(useAffectedRows 등)
+        return jdbcTemplate.queryForObject(lookupSql, Long.class, lookupArgs);
+    }
+}
@@ -1,10 +1,24 @@
 package com.aquaticket.aquaticketback.booking.repository;
 
 import com.aquaticket.aquaticketback.booking.domain.Performance;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface PerformanceRepository extends JpaRepository<Performance, Long> {
+    // 결과 id 를 쿼리 캐시에 (엔티티는 2차 캐시). JDBC upsert 뒤에는 KopisUpsertRepository 가 쿼리 캐시를 비운다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Performance> findByKopisId(String kopisId);
+
+    /** PriceTierService.syncTiers: 같은 공연의 가격 등급 동기화를 한 번에 하나씩 */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Performance p where p.id = :id")
+    Optional<Performance> findByIdForUpdate(@Param("id") Long id);
 }
\ No newline at end of file
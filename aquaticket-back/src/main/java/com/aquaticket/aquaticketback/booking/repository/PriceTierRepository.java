@@ -0,0 +1,17 @@
+package com.aquaticket.aquaticketback.booking.repository;
+
+import com.aquaticket.aquaticketback.booking.domain.PriceTier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PriceTierRepository extends JpaRepository<PriceTier, Long> {
+    List<PriceTier> findByPerformanceIdOrderBySortOrderAsc(Long performanceId);
+
+    @Modifying
+    @Query("DELETE FROM PriceTier t WHERE t.performance.id = :performanceId")
+    void deleteByPerformanceId(@Param("performanceId") Long performanceId);
+}
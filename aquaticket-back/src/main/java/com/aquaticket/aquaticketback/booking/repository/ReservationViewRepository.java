@@ -0,0 +1,45 @@
+package com.aquaticket.aquaticketback.booking.repository;
+
+import com.aquaticket.aquaticketback.booking.domain.ReservationView;
+import com.aquaticket.aquaticketback.booking.dto.BookingHistoryDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReservationViewRepository extends JpaRepository<ReservationView, Long> {
+
+    Optional<ReservationView> findByBookingNumber(String bookingNumber);
+
+    /**
+     * 예매 내역 (최신순, reservation_id 커서). 조인 없이 reservation_views 한 테이블에서 DTO 로 바로 만들기 때문에
+     * 페이지 크기와 관계없이 쿼리 한 번이다 (idx_reservation_views_user).
+     * status/from/to/cursor 는 null 이면 조건에서 빠진다. from/to 는 관람일시 기준 [from, to).
+     */
+    @Query("""
+            select new com.aquaticket.aquaticketback.booking.dto.BookingHistoryDto(
+                v.reservationId, v.performanceTitle, v.posterUrl, v.viewingAt, v.bookedAt, v.bookingNumber, v.totalPrice, v.status)
+            from ReservationView v
+            where v.userId = :userId
+              and (:status is null or v.status = :status)
+              and (:from is null or v.viewingAt >= :from)
+              and (:to is null or v.viewingAt < :to)
+              and (:cursor is null or v.reservationId < :cursor)
+            order by v.reservationId desc
+            """)
+    List<BookingHistoryDto> findHistory(@Param("userId") Long userId,
+                                        @Param("status") String status,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("cursor") Long cursor,
+                                        Pageable pageable);
+
+    @Modifying
+    @Query("update ReservationView v set v.status = :status where v.reservationId = :reservationId")
+    int updateStatus(@Param("reservationId") Long reservationId, @Param("status") String status);
+}
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
-public interface SeatRepository extends JpaRepository<Seat, Long> {
+public interface SeatRepository extends JpaRepository<Seat, Long>, SeatRepositoryCustom {
     List<Seat> findByVenue(Venue venue);
+    List<Seat> findByVenueId(Long venueId);
+    long countByVenueId(Long venueId);
 }
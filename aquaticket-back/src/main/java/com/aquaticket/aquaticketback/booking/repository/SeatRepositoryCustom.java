@@ -0,0 +1,15 @@
+package com.aquaticket.aquaticketback.booking.repository;
+
+import com.aquaticket.aquaticketback.booking.domain.Seat;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SeatRepositoryCustom {
+
+    /**
+     * findAllById 와 같지만 2차 캐시(catalog.seat)에 있는 좌석은 DB 를 읽지 않는다.
+     * (findAllById 는 IN 쿼리라 항상 DB 로 간다) 없는 id 는 결과에서 빠지고, 중복 id 는 한 번만 들어간다.
+     */
+    List<Seat> findAllByIdCached(Collection<Long> ids);
+}
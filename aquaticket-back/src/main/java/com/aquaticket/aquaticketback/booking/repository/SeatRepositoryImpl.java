@@ -0,0 +1,28 @@
+package com.aquaticket.aquaticketback.booking.repository;
+
+import com.aquaticket.aquaticketback.booking.domain.Seat;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+class SeatRepositoryImpl implements SeatRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Seat> findAllByIdCached(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        List<Seat> seats = entityManager.unwrap(Session.class)
+                .byMultipleIds(Seat.class)
+                .multiLoad(new ArrayList<>(new LinkedHashSet<>(ids)));
+        // 없는 id 자리는 null
+        return seats.stream().filter(Objects::nonNull).toList();
+    }
+}
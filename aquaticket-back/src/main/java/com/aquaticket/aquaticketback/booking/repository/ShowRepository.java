@@ -2,7 +2,10 @@ package com.aquaticket.aquaticketback.booking.repository;
 
 import com.aquaticket.aquaticketback.booking.domain.Performance;
 import com.aquaticket.aquaticketback.booking.domain.Show;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -11,5 +14,7 @@ import java.util.Optional;
 public interface ShowRepository extends JpaRepository<Show, Long> {
     List<Show> findByPerformanceIdOrderByStartsAtAsc(Long performanceId);
     Optional<Show> findByPerformanceAndStartsAt(Performance performance, LocalDateTime startsAt);
+    // 결과 id 를 쿼리 캐시에 (엔티티는 2차 캐시). JDBC upsert 뒤에는 KopisUpsertRepository 가 쿼리 캐시를 비운다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Show> findByKopisId(String kopisId);
 }
@@ -3,11 +3,31 @@ package com.aquaticket.aquaticketback.booking.repository;
 import com.aquaticket.aquaticketback.booking.domain.Show;
 import com.aquaticket.aquaticketback.booking.domain.Showtime;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
     Optional<Showtime> findByShowAndStartAt(Show show, LocalDateTime startAt);
     Optional<Showtime> findFirstByKopisIdAndStartAt(String kopisId, LocalDateTime startAt);
+    // 여러 (kopisId, startAt) 를 한 번에 조회. 교차 조합이 섞여 나오므로 호출한 쪽에서 걸러낸다.
+    List<Showtime> findByKopisIdInAndStartAtIn(Collection<String> kopisIds, Collection<LocalDateTime> startAts);
+    List<Showtime> findByKopisIdAndStartAtBetweenOrderByStartAtAsc(String kopisId, LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT st.startAt FROM Showtime st WHERE st.kopisId = :kopisId")
+    Set<LocalDateTime> findStartAtsByKopisId(@Param("kopisId") String kopisId);
+
+    // 마지막으로 만들어 둔 회차 시각 (없으면 null)
+    @Query("SELECT MAX(st.startAt) FROM Showtime st WHERE st.kopisId = :kopisId")
+    LocalDateTime findLastStartAtByKopisId(@Param("kopisId") String kopisId);
+
+    // 기간 내 회차 + 공연/공연장까지 한 번에 (워밍업용)
+    @Query("SELECT st FROM Showtime st JOIN FETCH st.show s JOIN FETCH s.performance p JOIN FETCH p.venue " +
+            "WHERE st.startAt BETWEEN :from AND :to ORDER BY st.startAt")
+    List<Showtime> findUpcomingWithVenue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
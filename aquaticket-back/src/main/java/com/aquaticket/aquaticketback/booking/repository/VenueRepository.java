@@ -1,11 +1,16 @@
 package com.aquaticket.aquaticketback.booking.repository;
 
 import com.aquaticket.aquaticketback.booking.domain.Venue;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface VenueRepository extends JpaRepository<Venue, Long> {
     Optional<Venue> findByName(String name);
+    // 결과 id 를 쿼리 캐시에 (엔티티는 2차 캐시). JDBC upsert 뒤에는 KopisUpsertRepository 가 쿼리 캐시를 비운다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Venue> findByKopisFacilityId(String kopisFacilityId);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 예매 이벤트. BookingEventRelay 가 outbox 에서 읽어 앱 안(@EventListener)과 이벤트 로그(JSON 한 줄)로 발행한다.
+ * eventId 는 outbox id 로, 발생 순서대로 증가한다. 전달은 at-least-once 이므로 소비자는 eventId 로 중복을 거른다.
+ */
+public record BookingEvent(Long eventId, BookingEventType type, Long reservationId, String bookingNumber,
+                           Long userId, Long showtimeId, List<Long> seatIds, Integer totalPrice,
+                           LocalDateTime occurredAt) {}
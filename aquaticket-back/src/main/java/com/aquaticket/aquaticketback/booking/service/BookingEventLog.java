@@ -0,0 +1,235 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 추가만 하는 예매 이벤트 로그. 다른 프로세스가 파일을 읽어서 따라갈 수 있다 (BookingEventLogConsumer, BookingEventLogReplay).
+ *
+ * 디렉터리 안에 segmentBytes 크기로 미리 잡은 세그먼트 파일들이 있고, 이름은 첫 레코드의 offset(20자리) + ".log" 다.
+ * 쓰기는 마지막 세그먼트를 READ_WRITE 로 mmap 해서 하고, 레코드가 들어가지 않으면 새 세그먼트로 넘어간다.
+ * retentionSegments 개보다 오래된 세그먼트는 지운다 (0 이면 지우지 않음).
+ *
+ * 레코드: [int length][int crc32(payload)][long offset][payload]
+ * length 를 마지막에 쓰므로 읽는 쪽은 length 가 0 이면 아직 쓰이지 않은 곳으로 보고 멈춘다.
+ * 열 때 마지막 세그먼트를 훑어서 crc 가 맞지 않는 꼬리(쓰다가 죽은 레코드)는 0 으로 지운다.
+ *
+ * 쓰기는 한 프로세스에서만. 이 클래스는 스레드 안전하다 (append 는 ReentrantLock).
+ */
+public class BookingEventLog implements AutoCloseable {
+
+    static final int HEADER_BYTES = 16;
+    static final String SUFFIX = ".log";
+
+    /** 읽은 레코드 하나 */
+    public record Entry(long offset, byte[] payload) {}
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final int retentionSegments;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long nextOffset;
+
+    public BookingEventLog(Path dir, int segmentBytes, int retentionSegments) {
+        if (segmentBytes <= HEADER_BYTES) throw new IllegalArgumentException("segmentBytes too small: " + segmentBytes);
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.retentionSegments = retentionSegments;
+        try {
+            Files.createDirectories(dir);
+            List<Path> segments = segments(dir);
+            if (segments.isEmpty()) {
+                openSegment(0);
+            } else {
+                recover(segments.get(segments.size() - 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open booking event log at " + dir, e);
+        }
+    }
+
+    /** payload 를 추가하고 offset 을 돌려준다. 디스크 반영은 flush() */
+    public long append(byte[] payload) {
+        int size = HEADER_BYTES + payload.length;
+        if (size > segmentBytes) {
+            throw new IllegalArgumentException("Event of " + payload.length + " bytes does not fit in a segment");
+        }
+        lock.lock();
+        try {
+            if (buffer.remaining() < size) roll();
+            long offset = nextOffset++;
+            int pos = buffer.position();
+            buffer.putInt(pos + 4, crc(payload));
+            buffer.putLong(pos + 8, offset);
+            buffer.put(pos + HEADER_BYTES, payload);
+            buffer.putInt(pos, payload.length);
+            buffer.position(pos + size);
+            return offset;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 지금까지 쓴 레코드를 디스크로 (msync) */
+    public void flush() {
+        lock.lock();
+        try {
+            buffer.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 다음에 쓸 offset */
+    public long nextOffset() {
+        lock.lock();
+        try {
+            return nextOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path dir() {
+        return dir;
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (buffer != null) buffer.force();
+            if (channel != null) channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * fromOffset 부터 최대 max 개. 지워진 구간을 요청하면 남아 있는 가장 오래된 레코드부터 준다.
+     * 쓰는 프로세스와 따로 파일을 읽으므로 다른 프로세스에서 불러도 된다.
+     */
+    public static List<Entry> read(Path dir, long fromOffset, int max) {
+        List<Entry> result = new ArrayList<>();
+        try {
+            List<Path> segments = segments(dir);
+            int start = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                if (baseOffset(segments.get(i)) <= fromOffset) start = i;
+            }
+            for (int i = start; i < segments.size() && result.size() < max; i++) {
+                readSegment(segments.get(i), fromOffset, max, result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read booking event log at " + dir, e);
+        }
+        return result;
+    }
+
+    private static void readSegment(Path segment, long fromOffset, int max, List<Entry> out) throws IOException {
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            int pos = 0;
+            while (out.size() < max) {
+                int length = validLength(buf, pos);
+                if (length < 0) return;
+                long offset = buf.getLong(pos + 8);
+                if (offset >= fromOffset) {
+                    byte[] payload = new byte[length];
+                    buf.get(pos + HEADER_BYTES, payload);
+                    out.add(new Entry(offset, payload));
+                }
+                pos += HEADER_BYTES + length;
+            }
+        }
+    }
+
+    // pos 에 온전한 레코드가 있으면 payload 길이, 없으면(끝이거나 쓰는 중/깨짐) -1
+    private static int validLength(ByteBuffer buf, int pos) {
+        if (buf.limit() - pos < HEADER_BYTES) return -1;
+        int length = buf.getInt(pos);
+        if (length <= 0 || length > buf.limit() - pos - HEADER_BYTES) return -1;
+        CRC32 crc = new CRC32();
+        crc.update(buf.slice(pos + HEADER_BYTES, length));
+        return (int) crc.getValue() == buf.getInt(pos + 4) ? length : -1;
+    }
+
+    private void recover(Path last) throws IOException {
+        long base = baseOffset(last);
+        channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentBytes));
+        int pos = 0;
+        long offset = base;
+        int length;
+        while ((length = validLength(buffer, pos)) >= 0) {
+            offset = buffer.getLong(pos + 8) + 1;
+            pos += HEADER_BYTES + length;
+        }
+        // 쓰다가 끊긴 꼬리를 지운다 (남은 바이트가 다음 레코드 뒤에서 레코드처럼 읽히지 않도록)
+        for (int i = pos; i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) buffer.put(i, (byte) 0);
+        }
+        buffer.position(pos);
+        nextOffset = offset;
+    }
+
+    private void roll() throws IOException {
+        buffer.force();
+        channel.close();
+        openSegment(nextOffset);
+        deleteOldSegments();
+    }
+
+    private void openSegment(long base) throws IOException {
+        Path path = dir.resolve(String.format("%020d%s", base, SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        nextOffset = base;
+    }
+
+    private void deleteOldSegments() throws IOException {
+        if (retentionSegments <= 0) return;
+        List<Path> segments = segments(dir);
+        for (int i = 0; i < segments.size() - retentionSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static long baseOffset(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static int crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
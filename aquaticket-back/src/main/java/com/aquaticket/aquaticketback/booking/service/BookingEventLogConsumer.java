@@ -0,0 +1,70 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * BookingEventLog 를 따라 읽는 소비자. 소비자마다 이름이 있고, 커밋한 위치(다음에 읽을 offset)를
+ * 로그 디렉터리의 offsets/<name>.offset 에 따로 저장한다 (임시 파일에 쓰고 원자적으로 바꾼다).
+ *
+ * poll 은 읽은 만큼 위치를 메모리에서만 옮기고, commit 해야 다음 실행에서도 이어서 읽는다.
+ * 커밋 전에 죽으면 마지막 커밋 이후부터 다시 받으므로, 처리 쪽은 BookingEvent.eventId 로 중복을 거른다.
+ */
+public class BookingEventLogConsumer {
+
+    private final Path dir;
+    private final String name;
+    private final Path offsetFile;
+    private long position;
+
+    public BookingEventLogConsumer(Path dir, String name) {
+        if (!name.matches("[A-Za-z0-9._-]+")) throw new IllegalArgumentException("Invalid consumer name: " + name);
+        this.dir = dir;
+        this.name = name;
+        this.offsetFile = dir.resolve("offsets").resolve(name + ".offset");
+        this.position = committed();
+    }
+
+    /** 현재 위치부터 최대 max 개 */
+    public List<BookingEventLog.Entry> poll(int max) {
+        List<BookingEventLog.Entry> entries = BookingEventLog.read(dir, position, max);
+        if (!entries.isEmpty()) position = entries.get(entries.size() - 1).offset() + 1;
+        return entries;
+    }
+
+    /** 지금 위치를 저장한다 */
+    public void commit() {
+        try {
+            Files.createDirectories(offsetFile.getParent());
+            Path tmp = offsetFile.resolveSibling(name + ".offset.tmp");
+            Files.writeString(tmp, Long.toString(position), StandardCharsets.US_ASCII);
+            Files.move(tmp, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot commit offset of consumer " + name, e);
+        }
+    }
+
+    /** 다음 poll 을 offset 부터 (커밋은 따로) */
+    public void seek(long offset) {
+        this.position = Math.max(0, offset);
+    }
+
+    public long position() {
+        return position;
+    }
+
+    /** 저장된 위치. 없으면 0 (처음부터) */
+    public long committed() {
+        try {
+            if (!Files.exists(offsetFile)) return 0;
+            return Long.parseLong(Files.readString(offsetFile, StandardCharsets.US_ASCII).trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read offset of consumer " + name, e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import java.io.BufferedOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 예매 이벤트 로그를 표준 출력으로 다시 내보낸다 (한 줄에 이벤트 JSON 하나).
+ * 앱과 따로 실행한다. JDK 외 의존성이 없어서 컴파일된 클래스만 있으면 된다:
+ *
+ *   java -cp build/classes/java/main com.aquaticket.aquaticketback.booking.service.BookingEventLogReplay ./data/booking-events --from 0
+ *
+ * 인자: <dir> [--from offset] [--to offset(포함)] [--consumer name [--commit]]
+ * --consumer 를 주면 그 소비자가 커밋한 위치부터 읽고(--from 이 있으면 그쪽이 우선), --commit 이면 끝까지 읽은 뒤 위치를 저장한다.
+ */
+public final class BookingEventLogReplay {
+
+    private static final int BATCH = 1000;
+
+    private BookingEventLogReplay() {}
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("usage: BookingEventLogReplay <dir> [--from offset] [--to offset] [--consumer name [--commit]]");
+            System.exit(2);
+        }
+        Path dir = Path.of(args[0]);
+        Long from = null;
+        long to = Long.MAX_VALUE;
+        String consumerName = null;
+        boolean commit = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--from" -> from = Long.parseLong(args[++i]);
+                case "--to" -> to = Long.parseLong(args[++i]);
+                case "--consumer" -> consumerName = args[++i];
+                case "--commit" -> commit = true;
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        BookingEventLogConsumer consumer = new BookingEventLogConsumer(dir,
+                consumerName != null ? consumerName : "replay");
+        if (from != null || consumerName == null) consumer.seek(from != null ? from : 0);
+
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, 1 << 16), false);
+        long count = 0;
+        outer:
+        while (true) {
+            List<BookingEventLog.Entry> entries = consumer.poll(BATCH);
+            if (entries.isEmpty()) break;
+            for (BookingEventLog.Entry entry : entries) {
+                if (entry.offset() > to) {
+                    consumer.seek(entry.offset());
+                    break outer;
+                }
+                out.write(entry.payload(), 0, entry.payload().length);
+                out.write('\n');
+                count++;
+            }
+        }
+        out.flush();
+        if (consumerName != null && commit) consumer.commit();
+        System.err.println("Replayed " + count + " events, next offset " + consumer.position());
+    }
+}
@@ -0,0 +1,27 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/** 앱 안 BookingEvent 소비자. 종류별 발행 수: booking.events{type} */
+@Component
+public class BookingEventMetrics {
+
+    private final Map<BookingEventType, Counter> counters = new EnumMap<>(BookingEventType.class);
+
+    public BookingEventMetrics(MeterRegistry meterRegistry) {
+        for (BookingEventType type : BookingEventType.values()) {
+            counters.put(type, Counter.builder("booking.events").tag("type", type.name()).register(meterRegistry));
+        }
+    }
+
+    @EventListener
+    public void on(BookingEvent event) {
+        counters.get(event.type()).increment();
+    }
+}
@@ -0,0 +1,149 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.booking.domain.OutboxEvent;
+import com.aquaticket.aquaticketback.booking.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * booking_outbox 의 미발행 이벤트를 booking.outbox.batch-size 개씩 발행한다.
+ * 1) 짧은 READ COMMITTED 트랜잭션에서 행을 FOR UPDATE SKIP LOCKED 로 잡고 claimed_until 을 채워 바로 커밋,
+ * 2) 잠금 없이 이벤트 로그(BookingEventLog)에 JSON 한 줄씩 추가하고 flush, 앱 안에 ApplicationEventPublisher 로 BookingEvent 발행,
+ * 3) 다른 짧은 트랜잭션에서 published_at 을 채운다.
+ * fsync 동안 행 잠금을 잡고 있지 않고, READ COMMITTED 라 gap/next-key 잠금도 없어서 예매 트랜잭션의 outbox INSERT 를 막지 않는다.
+ * 여러 인스턴스가 같이 돌아도 되지만 로그 파일은 인스턴스마다 따로라서, 파일을 따라 읽는 쪽이 있으면 booking.event-log.enabled 는 한 인스턴스에서만 켠다.
+ *
+ * 발행 표시 전에 죽으면 booking.outbox.claim-ms 뒤에 같은 이벤트가 다시 나간다 (at-least-once, eventId 로 중복 제거).
+ * @EventListener 예외는 로그만 남기고 발행을 계속한다 (한 소비자 때문에 outbox 가 막히지 않도록).
+ */
+@Component
+public class BookingEventRelay {
+    private static final Logger log = LoggerFactory.getLogger(BookingEventRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher publisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final int retentionHours;
+    private final long claimMs;
+    private final boolean fsync;
+    private final BookingEventLog eventLog;
+
+    private final Counter published;
+
+    public BookingEventRelay(OutboxEventRepository outboxEventRepository, ApplicationEventPublisher publisher,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                             @Value("${booking.outbox.batch-size:200}") int batchSize,
+                             @Value("${booking.outbox.retention-hours:72}") int retentionHours,
+                             @Value("${booking.outbox.claim-ms:30000}") long claimMs,
+                             @Value("${booking.event-log.enabled:true}") boolean logEnabled,
+                             @Value("${booking.event-log.dir:./data/booking-events}") String logDir,
+                             @Value("${booking.event-log.segment-bytes:67108864}") int segmentBytes,
+                             @Value("${booking.event-log.retention-segments:16}") int retentionSegments,
+                             @Value("${booking.event-log.fsync:true}") boolean fsync,
+                             MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.publisher = publisher;
+        this.objectMapper = objectMapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        // REPEATABLE READ 의 SKIP LOCKED 스캔은 next-key 잠금으로 새 outbox 행 INSERT 를 막을 수 있다
+        this.tx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.batchSize = Math.max(1, batchSize);
+        this.retentionHours = retentionHours;
+        this.claimMs = claimMs;
+        this.fsync = fsync;
+        this.eventLog = logEnabled ? new BookingEventLog(Path.of(logDir), segmentBytes, retentionSegments) : null;
+        this.published = Counter.builder("booking.outbox.published").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.relay-ms:500}")
+    public void relay() {
+        // 꽉 찬 배치가 나오면 밀린 것이 있다는 뜻이라 바로 다음 배치
+        int n;
+        do {
+            n = relayBatch();
+        } while (n == batchSize);
+    }
+
+    /** 한 배치를 발행하고 발행한 수를 돌려준다 */
+    int relayBatch() {
+        List<OutboxEvent> rows = tx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> claimed = outboxEventRepository.lockUnpublished(batchSize, now);
+            if (!claimed.isEmpty()) {
+                outboxEventRepository.claim(claimed.stream().map(OutboxEvent::getId).toList(), now.plus(claimMs, ChronoUnit.MILLIS));
+            }
+            return claimed;
+        });
+        if (rows == null || rows.isEmpty()) return 0;
+
+        // 로그 쓰기/fsync/발행 동안에는 DB 잠금을 잡고 있지 않다
+        List<BookingEvent> events = rows.stream().map(BookingEventRelay::toEvent).toList();
+        if (eventLog != null) {
+            for (BookingEvent event : events) {
+                eventLog.append(serialize(event));
+            }
+            if (fsync) eventLog.flush();
+        }
+        List<Long> ids = new ArrayList<>(events.size());
+        for (BookingEvent event : events) {
+            try {
+                publisher.publishEvent(event);
+            } catch (RuntimeException e) {
+                log.error("Booking event listener failed for event {}", event.eventId(), e);
+            }
+            ids.add(event.eventId());
+        }
+        tx.executeWithoutResult(status -> outboxEventRepository.markPublished(ids, LocalDateTime.now()));
+        published.increment(events.size());
+        return events.size();
+    }
+
+    @Scheduled(cron = "${booking.outbox.cleanup-cron:0 15 4 * * *}")
+    public void deletePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) log.info("Deleted {} published booking outbox rows", deleted);
+    }
+
+    @PreDestroy
+    void close() {
+        if (eventLog != null) eventLog.close();
+    }
+
+    static BookingEvent toEvent(OutboxEvent row) {
+        List<Long> seatIds = row.getSeatIds() == null || row.getSeatIds().isEmpty()
+                ? List.of()
+                : Arrays.stream(row.getSeatIds().split(",")).map(Long::valueOf).toList();
+        return new BookingEvent(row.getId(), BookingEventType.valueOf(row.getEventType()), row.getReservationId(),
+                row.getBookingNumber(), row.getUserId(), row.getShowtimeId(), seatIds, row.getTotalPrice(),
+                row.getCreatedAt());
+    }
+
+    private byte[] serialize(BookingEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize booking event " + event.eventId(), e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+/** 예매 이벤트 종류 (booking_outbox.event_type) */
+public enum BookingEventType {
+    HELD,
+    CONFIRMED,
+    CANCELLED,
+    EXPIRED
+}
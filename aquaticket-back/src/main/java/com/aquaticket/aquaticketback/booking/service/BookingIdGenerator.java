@@ -0,0 +1,120 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순으로 정렬되는 64비트 id 와 예매번호 생성기 (UUID.randomUUID 대신).
+ *
+ * id = [0][41비트 ms (EPOCH 기준)][10비트 노드][12비트 순번]
+ * 마지막 (ms, 순번)을 AtomicLong 하나에 담아 CAS 로만 갱신하므로 락도 SecureRandom 도 없다.
+ * 같은 ms 에 순번 4096 개를 다 쓰면 다음 ms 를 미리 쓰고, 시계가 뒤로 가도 마지막 ms 에서 이어가서 한 노드 안에서는 항상 증가한다.
+ *
+ * 예매번호는 id 를 Crockford base32 13자리로 쓴 것이라 문자열 순서도 발급 순서와 같다.
+ * 그래서 유니크 인덱스에 뒤쪽으로만 추가된다 (UUID 처럼 B-tree 아무 곳에나 끼어들지 않는다).
+ * 여러 인스턴스라면 booking.id.node-id 를 인스턴스마다 다르게 준다 (기본값은 호스트 이름 + pid 해시).
+ * 해시는 인스턴스끼리 겹칠 수 있으므로(겹치면 같은 ms 에 같은 id), booking.id.expected-instances 가 2 이상인데
+ * node-id 가 없으면 시작하지 않는다.
+ */
+@Component
+public class BookingIdGenerator {
+    private static final Logger log = LoggerFactory.getLogger(BookingIdGenerator.class);
+
+    /** 2025-01-01T00:00:00Z. 41비트 ms 로 약 69년 */
+    static final long EPOCH = 1735689600000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    static final int BOOKING_NUMBER_LENGTH = 13;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    // (EPOCH 기준 ms << SEQUENCE_BITS) | 순번
+    private final AtomicLong state = new AtomicLong();
+
+    public BookingIdGenerator(@Value("${booking.id.node-id:-1}") int nodeId,
+                              @Value("${booking.id.expected-instances:1}") int expectedInstances) {
+        if (nodeId < 0 && expectedInstances > 1) {
+            throw new IllegalStateException("booking.id.node-id must be set on each instance when booking.id.expected-instances is "
+                    + expectedInstances);
+        }
+        this.node = nodeId >= 0 ? nodeId : defaultNodeId();
+        if (node > MAX_NODE) throw new IllegalArgumentException("booking.id.node-id must be 0.." + MAX_NODE);
+        log.info("Booking id generator node id: {}", node);
+    }
+
+    public long nextId() {
+        long now = System.currentTimeMillis() - EPOCH;
+        while (true) {
+            long cur = state.get();
+            long next = now > (cur >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : cur + 1;
+            if (state.compareAndSet(cur, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                        | (node << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public String nextBookingNumber() {
+        return toBookingNumber(nextId());
+    }
+
+    /** id → 13자리 Crockford base32 (고정 길이라 문자열 순서 = id 순서) */
+    public static String toBookingNumber(long id) {
+        char[] out = new char[BOOKING_NUMBER_LENGTH];
+        for (int i = BOOKING_NUMBER_LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(out);
+    }
+
+    /** toBookingNumber 의 역. 형식이 맞지 않으면 IllegalArgumentException */
+    public static long parseBookingNumber(String bookingNumber) {
+        if (bookingNumber.length() != BOOKING_NUMBER_LENGTH) {
+            throw new IllegalArgumentException("Invalid booking number: " + bookingNumber);
+        }
+        long id = 0;
+        for (int i = 0; i < BOOKING_NUMBER_LENGTH; i++) {
+            int v = indexOf(Character.toUpperCase(bookingNumber.charAt(i)));
+            if (v < 0 || (i == 0 && v > 7)) throw new IllegalArgumentException("Invalid booking number: " + bookingNumber);
+            id = (id << 5) | v;
+        }
+        return id;
+    }
+
+    /** id 가 발급된 시각 */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH);
+    }
+
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE);
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) return i;
+        }
+        return -1;
+    }
+
+    private static int defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return Math.floorMod((host + ":" + ProcessHandle.current().pid()).hashCode(), MAX_NODE + 1);
+    }
+}
@@ -0,0 +1,40 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.booking.domain.OutboxEvent;
+import com.aquaticket.aquaticketback.booking.domain.Reservation;
+import com.aquaticket.aquaticketback.booking.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * 예매 이벤트를 booking_outbox 에 쓴다. 호출한 쪽의 트랜잭션 안에서만 (예매 변경과 함께 커밋/롤백).
+ * 발행은 BookingEventRelay 가 한다.
+ */
+@Component
+public class BookingOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public BookingOutbox(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(BookingEventType type, Reservation reservation, Collection<Long> seatIds) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(type.name());
+        event.setReservationId(reservation.getId());
+        event.setBookingNumber(reservation.getBookingNumber());
+        event.setUserId(reservation.getUser() != null ? reservation.getUser().getId() : null);
+        event.setShowtimeId(reservation.getShowtime() != null ? reservation.getShowtime().getId() : null);
+        event.setSeatIds(seatIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        event.setTotalPrice(reservation.getTotalPrice());
+        event.setCreatedAt(LocalDateTime.now());
+        outboxEventRepository.save(event);
+    }
+}
@@ -1,8 +1,11 @@
 package com.aquaticket.aquaticketback.booking.service;
 
 import com.aquaticket.aquaticketback.booking.domain.*;
+import com.aquaticket.aquaticketback.booking.dto.BookingDetailDto;
 import com.aquaticket.aquaticketback.booking.dto.BookingHistoryDto;
+import com.aquaticket.aquaticketback.booking.dto.BookingHistoryPage;
 import com.aquaticket.aquaticketback.booking.dto.ConfirmRequestDto;
+import com.aquaticket.aquaticketback.booking.dto.EnsureShowtimeRequest;
 import com.aquaticket.aquaticketback.booking.dto.SeatAvailabilityDto;
 import com.aquaticket.aquaticketback.booking.dto.SeatStatus;
 import com.aquaticket.aquaticketback.booking.exception.BookingNotFoundException;
@@ -11,16 +14,19 @@ import com.aquaticket.aquaticketback.booking.exception.SeatAlreadyBookedExceptio
 import com.aquaticket.aquaticketback.booking.exception.SeatNotFoundException;
 import com.aquaticket.aquaticketback.booking.exception.ShowtimeNotFoundException;
 import com.aquaticket.aquaticketback.booking.repository.*;
-import com.aquaticket.aquaticketback.domain.User;
-import com.aquaticket.aquaticketback.exception.UserNotFoundException;
+import com.aquaticket.aquaticketback.config.AuthUser;
+import com.aquaticket.aquaticketback.config.ReadYourWritesTracker;
 import com.aquaticket.aquaticketback.repository.UserRepository;
+import com.aquaticket.aquaticketback.service.UserCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -28,38 +34,62 @@ import java.util.stream.Collectors;
 @Service
 public class BookingService {
     private static final Logger log = LoggerFactory.getLogger(BookingService.class);
+    private static final int MAX_HISTORY_PAGE_SIZE = 50;
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ShowtimeRepository showtimeRepository;
-    private final ShowRepository showRepository;
-    private final ShowCreationService showCreationService;
     private final SeatRepository seatRepository;
     private final ReservationSeatRepository reservationSeatRepository;
     private final SeatLockRepository seatLockRepository;
+    private final PriceTierService priceTierService;
+    private final SeatLayoutCache seatLayoutCache;
+    private final ShowtimeScheduleService showtimeScheduleService;
+    private final UserCache userCache;
+    private final ReservationViewRepository reservationViewRepository;
+    private final ReservationViewWriter reservationViewWriter;
+    private final ReadYourWritesTracker readYourWrites;
+    private final BookingOutbox bookingOutbox;
+    private final BookingIdGenerator bookingIdGenerator;
 
     public BookingService(BookingRepository bookingRepository, UserRepository userRepository,
-                          ShowtimeRepository showtimeRepository, ShowRepository showRepository,
-                          ShowCreationService showCreationService, SeatRepository seatRepository,
-                          ReservationSeatRepository reservationSeatRepository, SeatLockRepository seatLockRepository) {
+                          ShowtimeRepository showtimeRepository, SeatRepository seatRepository,
+                          ReservationSeatRepository reservationSeatRepository, SeatLockRepository seatLockRepository,
+                          PriceTierService priceTierService, SeatLayoutCache seatLayoutCache,
+                          ShowtimeScheduleService showtimeScheduleService, UserCache userCache,
+                          ReservationViewRepository reservationViewRepository, ReservationViewWriter reservationViewWriter,
+                          ReadYourWritesTracker readYourWrites, BookingOutbox bookingOutbox,
+                          BookingIdGenerator bookingIdGenerator) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.showtimeRepository = showtimeRepository;
-        this.showRepository = showRepository;
-        this.showCreationService = showCreationService;
         this.seatRepository = seatRepository;
         this.reservationSeatRepository = reservationSeatRepository;
         this.seatLockRepository = seatLockRepository;
+        this.priceTierService = priceTierService;
+        this.seatLayoutCache = seatLayoutCache;
+        this.showtimeScheduleService = showtimeScheduleService;
+        this.userCache = userCache;
+        this.reservationViewRepository = reservationViewRepository;
+        this.reservationViewWriter = reservationViewWriter;
+        this.readYourWrites = readYourWrites;
+        this.bookingOutbox = bookingOutbox;
+        this.bookingIdGenerator = bookingIdGenerator;
+    }
+
+    // 토큰의 uid. 사용자 존재 여부는 UserCache 로 확인해서 보통은 DB 를 읽지 않는다.
+    private Long currentUserId() {
+        Long userId = userCache.idOf(AuthUser.current());
+        userCache.get(userId);
+        return userId;
     }
 
     @Transactional
     public Long confirmBooking(ConfirmRequestDto request) {
         log.info("Attempting to confirm booking with request: {}", request);
         try {
-            String email = SecurityContextHolder.getContext().getAuthentication().getName();
-            log.info("1. Authenticated user email: {}", email);
-            User user = userRepository.findByEmail(email).orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
-            log.info("2. User found: {}", user.getId());
+            Long userId = currentUserId();
+            log.info("1-2. Authenticated user id: {}", userId);
 
             Showtime showtime = showtimeRepository.findById(request.getShowtimeId())
                     .orElseThrow(() -> new ShowtimeNotFoundException("Invalid showtime ID: " + request.getShowtimeId()));
@@ -69,7 +99,7 @@ public class BookingService {
                 throw new InvalidShowDataException("Showtime with ID " + showtime.getId() + " has no associated Show.");
             }
 
-            List<Seat> seats = seatRepository.findAllById(request.getSeatIds());
+            List<Seat> seats = seatRepository.findAllByIdCached(request.getSeatIds());
             log.info("4. Requested {} seats, found {} seats.", request.getSeatIds().size(), seats.size());
             if (seats.size() != request.getSeatIds().size()) {
                 throw new SeatNotFoundException("One or more seats not found.");
@@ -84,16 +114,19 @@ public class BookingService {
             }
             log.info("6. All seats are available.");
 
-            double totalPrice = seats.stream().mapToDouble(Seat::getPrice).sum();
+            Map<String, Integer> gradePrices = priceTierService.gradePrices(showtime.getShow().getPerformance().getId());
+            int totalPrice = seats.stream().mapToInt(seat -> PriceTierService.priceOf(seat, gradePrices)).sum();
             log.info("7. Calculated total price: {}", totalPrice);
 
             Reservation newReservation = new Reservation();
-            newReservation.setUser(user);
+            // FK 만 필요하므로 사용자 행을 읽지 않는 참조 프록시
+            newReservation.setUser(userRepository.getReferenceById(userId));
             newReservation.setShow(showtime.getShow());
             newReservation.setShowtime(showtime);
-            newReservation.setTotalPrice((int) totalPrice);
+            newReservation.setTotalPrice(totalPrice);
             newReservation.setStatus("CONFIRMED");
-            newReservation.setBookingNumber(UUID.randomUUID().toString());
+            // 발급 순서대로 정렬되는 13자리 번호라 유니크 인덱스 끝에만 추가된다
+            newReservation.setBookingNumber(bookingIdGenerator.nextBookingNumber());
             newReservation.setConfirmedAt(LocalDateTime.now());
             log.info("8. Reservation object created: {}", newReservation);
 
@@ -104,12 +137,18 @@ public class BookingService {
                 ReservationSeat rs = new ReservationSeat();
                 rs.setReservation(savedReservation);
                 rs.setSeat(seat);
+                rs.setPrice(PriceTierService.priceOf(seat, gradePrices));
                 return rs;
             }).collect(Collectors.toList());
 
             reservationSeatRepository.saveAll(reservationSeats);
             log.info("10. Reservation seats saved.");
 
+            reservationViewWriter.write(savedReservation, seats);
+            bookingOutbox.record(BookingEventType.CONFIRMED, savedReservation, request.getSeatIds());
+            // 커밋 후 잠시 이 사용자의 조회는 replica 대신 primary 에서 (방금 한 예매가 바로 보이도록)
+            readYourWrites.markWrite(AuthUser.current().getName());
+
             return savedReservation.getId();
         } catch (Exception e) {
             log.error("!!! CRITICAL: Exception during booking confirmation: ", e);
@@ -121,61 +160,96 @@ public class BookingService {
     public void cancelBooking(Long bookingId) {
         log.info("Attempting to cancel booking with ID: {}", bookingId);
 
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
+        Long userId = currentUserId();
 
         Reservation reservation = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with ID: " + bookingId));
 
-        if (!reservation.getUser().getId().equals(user.getId())) {
+        if (!reservation.getUser().getId().equals(userId)) {
             throw new AccessDeniedException("User is not authorized to cancel this booking.");
         }
 
         reservation.setStatus("CANCELLED");
         bookingRepository.save(reservation);
+        // 좌석 라벨이 남아 있도록 reservation_seats 를 지우기 전에
+        reservationViewWriter.markCancelled(reservation);
+        readYourWrites.markWrite(AuthUser.current().getName());
 
         List<ReservationSeat> reservationSeats = reservationSeatRepository.findByReservation(reservation);
+        bookingOutbox.record(BookingEventType.CANCELLED, reservation,
+                reservationSeats.stream().map(rs -> rs.getSeat().getId()).toList());
         reservationSeatRepository.deleteAll(reservationSeats);
         log.info("Booking with ID: {} cancelled and associated seats released.", bookingId);
     }
 
     @Transactional(readOnly = true)
     public List<BookingHistoryDto> getMyBookings() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
-
-        return bookingRepository.findByUser(user).stream()
-                .map(reservation -> new BookingHistoryDto(
-                        reservation.getId(),
-                        reservation.getShow().getPerformance().getTitle(),
-                        reservation.getShow().getPerformance().getPosterUrl(),
-                        reservation.getShowtime().getStartAt().toString(),
-                        reservation.getConfirmedAt().toString(),
-                        reservation.getBookingNumber(),
-                        reservation.getTotalPrice(),
-                        reservation.getStatus()))
-                .collect(Collectors.toList());
+        return reservationViewRepository.findHistory(currentUserId(), null, null, null, null, Pageable.unpaged());
     }
 
-    @Transactional
+    /**
+     * 예매 내역 한 페이지 (최신순, reservation_views 에서만 읽는다). cursor 는 이전 페이지의 nextCursor.
+     * status 는 CONFIRMED/CANCELLED 등, from/to 는 관람일 기준 [from, to] (null 이면 제한 없음).
+     */
+    @Transactional(readOnly = true)
+    public BookingHistoryPage getMyBookingHistory(Long cursor, int size, String status, LocalDate from, LocalDate to) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        // 한 건 더 읽어서 다음 페이지가 있는지 본다
+        List<BookingHistoryDto> rows = reservationViewRepository.findHistory(currentUserId(),
+                status != null ? status.toUpperCase() : null,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                cursor, PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new BookingHistoryPage(rows, null);
+        }
+        List<BookingHistoryDto> page = rows.subList(0, pageSize);
+        return new BookingHistoryPage(page, page.get(pageSize - 1).getBookingId());
+    }
+
+    /** 예매번호로 티켓 조회 (reservation_views 한 행). 본인 예매가 아니면 AccessDeniedException */
+    @Transactional(readOnly = true)
+    public BookingDetailDto getBookingByNumber(String bookingNumber) {
+        ReservationView view = reservationViewRepository.findByBookingNumber(bookingNumber)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found with number: " + bookingNumber));
+        if (!view.getUserId().equals(currentUserId())) {
+            throw new AccessDeniedException("User is not authorized to view this booking.");
+        }
+        return BookingDetailDto.from(view);
+    }
+
+    /**
+     * (kopisId, startAt) 회차 id.
+     * 회차는 공연 상세 조회 시 일정 전체가 미리 만들어지므로 보통은 메모리 캐시에서 끝난다.
+     * 새로 만들 때는 (kopis_id, start_at) 유니크 키 upsert 라 동시에 호출돼도 중복 행이 생기지 않는다.
+     */
     public Long ensureShowtime(String kopisId, String startAt) {
-        LocalDateTime parsedStartAt = LocalDateTime.parse(startAt);
-        Optional<Showtime> existingShowtime = showtimeRepository.findFirstByKopisIdAndStartAt(kopisId, parsedStartAt);
-
-        if (existingShowtime.isPresent()) {
-            return existingShowtime.get().getId();
-        } else {
-            Show show = showRepository.findByKopisId(kopisId)
-                    .orElseGet(() -> showCreationService.createShowFromKopis(kopisId, parsedStartAt));
-
-            Showtime newShowtime = new Showtime();
-            newShowtime.setKopisId(kopisId);
-            newShowtime.setStartAt(parsedStartAt);
-            newShowtime.setShow(show);
-
-            Showtime savedShowtime = showtimeRepository.save(newShowtime);
-            return savedShowtime.getId();
+        return showtimeScheduleService.ensure(kopisId, LocalDateTime.parse(startAt));
+    }
+
+    /**
+     * ensureShowtime 의 일괄 버전. 응답 키는 요청한 startAt 문자열을 그대로 쓴다.
+     * @return kopisId → (startAt → showtimeId)
+     */
+    public Map<String, Map<String, Long>> ensureShowtimes(List<EnsureShowtimeRequest> items) {
+        Map<String, Map<LocalDateTime, String>> requested = new LinkedHashMap<>();
+        for (EnsureShowtimeRequest item : items) {
+            requested.computeIfAbsent(item.getKopisId(), k -> new LinkedHashMap<>())
+                    .put(LocalDateTime.parse(item.getStartAt()), item.getStartAt());
         }
+
+        Map<String, Set<LocalDateTime>> startAts = new LinkedHashMap<>();
+        requested.forEach((kopisId, times) -> startAts.put(kopisId, times.keySet()));
+        Map<String, Map<LocalDateTime, Long>> resolved = showtimeScheduleService.ensureAll(startAts);
+
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        resolved.forEach((kopisId, ids) -> {
+            Map<LocalDateTime, String> original = requested.get(kopisId);
+            Map<String, Long> byStartAt = new LinkedHashMap<>();
+            ids.forEach((startAt, id) -> byStartAt.put(original.get(startAt), id));
+            result.put(kopisId, byStartAt);
+        });
+        return result;
     }
 
     @Transactional(readOnly = true)
@@ -188,7 +262,8 @@ public class BookingService {
         }
 
         Venue venue = showtime.getShow().getPerformance().getVenue();
-        List<Seat> allSeatsInVenue = seatRepository.findByVenue(venue);
+        List<SeatLayoutCache.SeatView> allSeatsInVenue = seatLayoutCache.get(venue.getId());
+        Map<String, Integer> gradePrices = priceTierService.gradePrices(showtime.getShow().getPerformance().getId());
 
         Set<Long> bookedSeatIds = reservationSeatRepository.findSeatIdsByShowtime(showtime.getId());
         Map<Long, SeatLock> lockedSeatsMap = seatLockRepository.findByShowAndLockedUntilAfter(showtime.getShow(), LocalDateTime.now())
@@ -196,20 +271,20 @@ public class BookingService {
 
         return allSeatsInVenue.stream().map(seat -> {
             SeatStatus status;
-            if (bookedSeatIds.contains(seat.getId())) {
+            if (bookedSeatIds.contains(seat.id())) {
                 status = SeatStatus.TAKEN;
-            } else if (lockedSeatsMap.containsKey(seat.getId())) {
+            } else if (lockedSeatsMap.containsKey(seat.id())) {
                 status = SeatStatus.LOCKED;
             } else {
                 status = SeatStatus.AVAILABLE;
             }
 
             return SeatAvailabilityDto.builder()
-                    .seatId(seat.getId())
-                    .zone(seat.getZone())
-                    .row(seat.getRowLabel())
-                    .number(String.valueOf(seat.getSeatNo()))
-                    .price(seat.getPrice())
+                    .seatId(seat.id())
+                    .zone(seat.zone())
+                    .row(seat.rowLabel())
+                    .number(String.valueOf(seat.seatNo()))
+                    .price(PriceTierService.priceOf(seat.grade(), seat.price(), gradePrices))
                     .status(status)
                     .build();
         }).collect(Collectors.toList());
@@ -0,0 +1,47 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.config.CatalogCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Hibernate 2차 캐시/쿼리 캐시 적중률 (hibernate.generate_statistics=true 일 때만 값이 쌓인다) */
+@Component
+public class CatalogCacheStats {
+
+    private static final List<String> REGIONS = List.of(
+            CatalogCacheConfig.VENUE_REGION, CatalogCacheConfig.PERFORMANCE_REGION, CatalogCacheConfig.SHOW_REGION,
+            CatalogCacheConfig.SHOWTIME_REGION, CatalogCacheConfig.SEAT_REGION);
+
+    public record RegionStats(long hits, long misses, long puts, long size, double hitRatio) {
+        static RegionStats of(long hits, long misses, long puts, long size) {
+            long total = hits + misses;
+            return new RegionStats(hits, misses, puts, size, total == 0 ? 0.0 : (double) hits / total);
+        }
+    }
+
+    private final Statistics statistics;
+
+    public CatalogCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /** 영역 이름 → 통계. 쿼리 캐시는 "query" */
+    public Map<String, RegionStats> snapshot() {
+        Map<String, RegionStats> result = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics s = statistics.getDomainDataRegionStatistics(region);
+            if (s == null) continue;
+            result.put(region, RegionStats.of(s.getHitCount(), s.getMissCount(), s.getPutCount(), s.getElementCountInMemory()));
+        }
+        result.put("query", RegionStats.of(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount(), -1));
+        return result;
+    }
+}
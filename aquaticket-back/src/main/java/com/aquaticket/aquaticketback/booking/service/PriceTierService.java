@@ -0,0 +1,263 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.booking.domain.Performance;
+import com.aquaticket.aquaticketback.booking.domain.PriceTier;
+import com.aquaticket.aquaticketback.booking.domain.Seat;
+import com.aquaticket.aquaticketback.booking.repository.PerformanceRepository;
+import com.aquaticket.aquaticketback.booking.repository.PriceTierRepository;
+import com.aquaticket.aquaticketback.kopis.KopisDetail;
+import com.aquaticket.aquaticketback.kopis.PcseguidanceParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공연 가격 등급 관리.
+ * pcseguidance 는 KOPIS updatedate 가 바뀔 때만 다시 파싱하고, 결과는 price_tiers 에 저장해 둔다.
+ * updatedate 가 없는 응답은 비교할 수 없으므로 마지막 동기화 후 price-tier.sync-ttl-ms 가 지났을 때만 다시 저장한다.
+ * /api/kopis/prfprice 와 좌석 가격 계산이 모두 여기서 저장된 등급을 읽는다.
+ * 목록 fan-out 은 peekTiers 로 읽기만 하고, 필요한 동기화는 price-tier.sync-batch-ms 마다 한 트랜잭션으로 모아서 저장한다.
+ * 파싱 횟수/시간은 /actuator/metrics 의 price.tiers.parse 로 본다.
+ */
+@Service
+public class PriceTierService {
+    private static final Logger log = LoggerFactory.getLogger(PriceTierService.class);
+
+    // 아직 Performance 로 저장되지 않은 공연(목록/상세만 본 공연)의 파싱 결과 캐시
+    private static final int MAX_UNSAVED_ENTRIES = 1024;
+    private static final int MAX_TTL_ENTRIES = 4096;
+
+    private final PriceTierRepository priceTierRepository;
+    private final PerformanceRepository performanceRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final TransactionTemplate tx;
+    private final long syncTtlMs;
+
+    private final Map<String, ParsedTiers> unsaved = new ConcurrentHashMap<>();
+    // updatedate 없이 동기화한 공연 kopisId → 동기화 시각(ms)
+    private final Map<String, Long> syncedWithoutUpdatedate = new ConcurrentHashMap<>();
+
+    // 목록 fan-out 에서 미룬 동기화: kopisId → 공연 + 상세 + 메모리에서 파싱한 등급
+    private final Map<String, PendingSync> pendingSyncs = new ConcurrentHashMap<>();
+
+    private final Timer parseTimer;
+
+    private record ParsedTiers(String updatedate, List<PcseguidanceParser.Tier> tiers) {}
+
+    private record PendingSync(Performance performance, KopisDetail detail, List<PcseguidanceParser.Tier> tiers) {}
+
+    // 읽기 전용 트랜잭션에서 읽은 공연과 저장된 등급 (동기화가 필요하면 tiers == null)
+    private record Stored(Performance performance, List<PriceTier> tiers) {}
+
+    public PriceTierService(PriceTierRepository priceTierRepository, PerformanceRepository performanceRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${price-tier.sync-ttl-ms:3600000}") long syncTtlMs,
+                            MeterRegistry meterRegistry) {
+        this.priceTierRepository = priceTierRepository;
+        this.performanceRepository = performanceRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.syncTtlMs = syncTtlMs;
+        this.parseTimer = Timer.builder("price.tiers.parse").register(meterRegistry);
+    }
+
+    /**
+     * KOPIS 상세를 기준으로 공연의 가격 등급을 반환한다.
+     * 저장된 Performance 가 있으면 읽기 전용 트랜잭션(replica)에서 price_tiers 를 읽고, 바뀌었을 때만 쓰기 트랜잭션에서 동기화한다.
+     * 저장된 Performance 가 없으면 메모리 캐시를 사용한다.
+     */
+    public List<PcseguidanceParser.Tier> tiersFor(KopisDetail detail) {
+        if (detail == null) return List.of();
+
+        Stored stored = readStored(detail);
+        if (stored == null) return unsavedTiers(detail);
+        List<PriceTier> tiers = stored.tiers() != null
+                ? stored.tiers()
+                : tx.execute(status -> syncTiers(stored.performance(), detail));
+        return toTiers(tiers);
+    }
+
+    /**
+     * 목록 fan-out 용. tiersFor 와 같은 등급을 반환하지만 쓰기 트랜잭션을 열지 않는다.
+     * 동기화가 필요하면 메모리에서 파싱한 결과를 반환하고, 저장은 flushPendingSyncs 로 미룬다.
+     */
+    public List<PcseguidanceParser.Tier> peekTiers(KopisDetail detail) {
+        if (detail == null) return List.of();
+
+        Stored stored = readStored(detail);
+        if (stored == null) return unsavedTiers(detail);
+        if (stored.tiers() != null) return toTiers(stored.tiers());
+
+        PendingSync pending = pendingSyncs.get(detail.getMt20id());
+        if (pending != null && Objects.equals(pending.detail().getUpdatedate(), detail.getUpdatedate())) {
+            return pending.tiers();
+        }
+        List<PcseguidanceParser.Tier> tiers = mergeGrades(parse(detail.getPcseguidance()));
+        if (pendingSyncs.size() < MAX_TTL_ENTRIES || pending != null) {
+            pendingSyncs.put(detail.getMt20id(), new PendingSync(stored.performance(), detail, tiers));
+        }
+        return tiers;
+    }
+
+    /**
+     * peekTiers 에서 미룬 동기화를 한 트랜잭션으로 저장한다.
+     * 공연 id 순서로 잠그므로 동시에 도는 tiersFor(공연 하나만 잠금)와 교착되지 않는다.
+     * 실패하면 버리고, 다음 peekTiers 가 다시 등록한다.
+     */
+    @Scheduled(fixedDelayString = "${price-tier.sync-batch-ms:5000}", initialDelayString = "${price-tier.sync-batch-ms:5000}")
+    public void flushPendingSyncs() {
+        if (pendingSyncs.isEmpty()) return;
+        List<PendingSync> batch = new ArrayList<>();
+        for (String kopisId : new ArrayList<>(pendingSyncs.keySet())) {
+            PendingSync pending = pendingSyncs.remove(kopisId);
+            if (pending != null) batch.add(pending);
+        }
+        batch.sort(Comparator.comparing(p -> p.performance().getId()));
+        try {
+            tx.executeWithoutResult(status -> batch.forEach(p -> syncTiers(p.performance(), p.detail())));
+        } catch (RuntimeException e) {
+            log.warn("Deferred price tier sync of {} performances failed: {}", batch.size(), e.toString());
+        }
+    }
+
+    // 저장된 Performance 가 없으면 null
+    private Stored readStored(KopisDetail detail) {
+        return readOnlyTx.execute(status -> performanceRepository.findByKopisId(detail.getMt20id())
+                .map(p -> new Stored(p, needsSync(p, detail)
+                        ? null
+                        : priceTierRepository.findByPerformanceIdOrderBySortOrderAsc(p.getId())))
+                .orElse(null));
+    }
+
+    // 아직 Performance 로 저장되지 않은 공연은 메모리 캐시
+    private List<PcseguidanceParser.Tier> unsavedTiers(KopisDetail detail) {
+        ParsedTiers cached = unsaved.get(detail.getMt20id());
+        if (cached != null && cached.updatedate() != null && cached.updatedate().equals(detail.getUpdatedate())) {
+            return cached.tiers();
+        }
+        List<PcseguidanceParser.Tier> tiers = parse(detail.getPcseguidance());
+        if (unsaved.size() >= MAX_UNSAVED_ENTRIES) unsaved.clear();
+        unsaved.put(detail.getMt20id(), new ParsedTiers(detail.getUpdatedate(), tiers));
+        return tiers;
+    }
+
+    private static List<PcseguidanceParser.Tier> toTiers(List<PriceTier> tiers) {
+        return tiers.stream()
+                .map(t -> new PcseguidanceParser.Tier(t.getGrade(), t.getMinWon(), t.getMaxWon()))
+                .toList();
+    }
+
+    /**
+     * Performance 의 price_tiers 를 KOPIS 상세와 맞춘다. 호출하는 쪽의 쓰기 트랜잭션(ShowWriter, tx) 안에서 실행한다.
+     * 바뀐 것이 없으면(updatedate 가 같거나, updatedate 가 없고 TTL 안) 잠그지도 파싱하지도 않고 저장된 값을 그대로 반환한다.
+     * 바뀌었으면 공연 행을 잠근 뒤 다시 확인하므로 같은 공연을 동시에 동기화해도 한 번만 쓴다.
+     * 같은 등급이 여러 번 나오면 한 줄로 합친다 (최저가 ~ 최고가, uk_price_tiers_perf_grade).
+     */
+    public List<PriceTier> syncTiers(Performance performance, KopisDetail detail) {
+        if (!needsSync(performance, detail)) {
+            return priceTierRepository.findByPerformanceIdOrderBySortOrderAsc(performance.getId());
+        }
+        Performance locked = performanceRepository.findByIdForUpdate(performance.getId()).orElse(performance);
+        if (!needsSync(locked, detail)) {
+            return priceTierRepository.findByPerformanceIdOrderBySortOrderAsc(locked.getId());
+        }
+
+        String updatedate = detail.getUpdatedate();
+        List<PcseguidanceParser.Tier> parsed = mergeGrades(parse(detail.getPcseguidance()));
+        priceTierRepository.deleteByPerformanceId(locked.getId());
+
+        List<PriceTier> tiers = new ArrayList<>(parsed.size());
+        int order = 0;
+        for (PcseguidanceParser.Tier t : parsed) {
+            tiers.add(PriceTier.builder()
+                    .performance(locked)
+                    .grade(t.grade())
+                    .minWon(t.minWon())
+                    .maxWon(t.maxWon())
+                    .sortOrder(order++)
+                    .build());
+        }
+        List<PriceTier> saved = priceTierRepository.saveAll(tiers);
+
+        locked.setPriceUpdatedate(updatedate);
+        performanceRepository.save(locked);
+        unsaved.remove(locked.getKopisId());
+        pendingSyncs.computeIfPresent(locked.getKopisId(),
+                (k, p) -> Objects.equals(p.detail().getUpdatedate(), updatedate) ? null : p);
+        if (updatedate == null) {
+            if (syncedWithoutUpdatedate.size() >= MAX_TTL_ENTRIES) syncedWithoutUpdatedate.clear();
+            syncedWithoutUpdatedate.put(locked.getKopisId(), System.currentTimeMillis());
+        } else {
+            syncedWithoutUpdatedate.remove(locked.getKopisId());
+        }
+        log.info("Price tiers synced for performance {} (updatedate={}): {} tiers", locked.getKopisId(), updatedate, saved.size());
+        return saved;
+    }
+
+    // 같은 등급은 한 줄로 (최저가 ~ 최고가)
+    private static List<PcseguidanceParser.Tier> mergeGrades(List<PcseguidanceParser.Tier> parsed) {
+        Map<String, PcseguidanceParser.Tier> byGrade = new LinkedHashMap<>();
+        for (PcseguidanceParser.Tier t : parsed) {
+            byGrade.merge(t.grade(), t, (a, b) -> new PcseguidanceParser.Tier(a.grade(),
+                    Math.min(a.minWon(), b.minWon()), Math.max(a.maxWon(), b.maxWon())));
+        }
+        return List.copyOf(byGrade.values());
+    }
+
+    // updatedate 가 바뀌었거나, updatedate 가 없고 마지막 동기화 후 TTL 이 지났으면 true
+    private boolean needsSync(Performance performance, KopisDetail detail) {
+        String updatedate = detail.getUpdatedate();
+        if (updatedate != null) return !updatedate.equals(performance.getPriceUpdatedate());
+        Long syncedAt = syncedWithoutUpdatedate.get(performance.getKopisId());
+        return syncedAt == null || System.currentTimeMillis() - syncedAt >= syncTtlMs;
+    }
+
+    /** 등급명 → 좌석 가격(범위면 최고가) */
+    @Transactional(readOnly = true)
+    public Map<String, Integer> gradePrices(Long performanceId) {
+        Map<String, Integer> prices = new HashMap<>();
+        for (PriceTier t : priceTierRepository.findByPerformanceIdOrderBySortOrderAsc(performanceId)) {
+            prices.putIfAbsent(t.getGrade(), t.getMaxWon());
+        }
+        return prices;
+    }
+
+    /** 좌석 등급에 맞는 저장된 가격, 없으면 좌석에 저장된 기본 가격 */
+    public static int priceOf(Seat seat, Map<String, Integer> gradePrices) {
+        return priceOf(seat.getGrade(), seat.getPrice(), gradePrices);
+    }
+
+    public static int priceOf(String grade, int basePrice, Map<String, Integer> gradePrices) {
+        if (grade != null) {
+            Integer tierPrice = gradePrices.get(grade);
+            if (tierPrice != null) return tierPrice;
+        }
+        return basePrice;
+    }
+
+    /** 누적 파싱 횟수 */
+    public long getParseCount() {
+        return parseTimer.count();
+    }
+
+    /** 누적 파싱 시간(ns) */
+    public long getParseNanos() {
+        return (long) parseTimer.totalTime(TimeUnit.NANOSECONDS);
+    }
+
+    private List<PcseguidanceParser.Tier> parse(String guide) {
+        return parseTimer.record(() -> PcseguidanceParser.parse(guide));
+    }
+}
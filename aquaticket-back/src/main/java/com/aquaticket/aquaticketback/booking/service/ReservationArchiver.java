@@ -0,0 +1,150 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 끝난 회차의 예매를 보관 테이블로 옮긴다 (reservations → reservations_archive, reservation_seats → reservation_seats_archive).
+ * 회차 시작(start_at)이 reservation.archive.retention-days 일보다 오래된 예매가 대상이다 (회차 종료 시각은 따로 없다).
+ *
+ * reservation.archive.batch-size 건씩 각자의 짧은 트랜잭션에서 옮기고, 배치 사이에 batch-pause-ms 만큼 쉰다.
+ * 대상 행은 FOR UPDATE SKIP LOCKED 로 잡으므로 여러 인스턴스에서 동시에 돌아도 같은 예매를 두 번 옮기지 않는다.
+ * 예매 내역/예매번호 조회는 reservation_views 를 읽으므로 옮긴 뒤에도 그대로 보인다 (ReservationViewWriter 가 두 쪽 모두에서 다시 만든다).
+ */
+@Component
+public class ReservationArchiver {
+    private static final Logger log = LoggerFactory.getLogger(ReservationArchiver.class);
+
+    private static final String SELECT_BATCH = """
+            SELECT r.id FROM reservations r JOIN showtimes st ON st.id = r.showtime_id
+             WHERE st.start_at < :cutoff
+             LIMIT :limit
+             FOR UPDATE OF r SKIP LOCKED
+            """;
+    private static final String COPY_RESERVATIONS = """
+            INSERT INTO reservations_archive (id, user_id, show_id, showtime_id, booking_number, status, total_price,
+                                              confirmed_at, created_at, expires_at, archived_at)
+            SELECT id, user_id, show_id, showtime_id, booking_number, status, total_price,
+                   confirmed_at, created_at, expires_at, :now
+              FROM reservations WHERE id IN (:ids)
+            """;
+    private static final String COPY_SEATS = """
+            INSERT INTO reservation_seats_archive (id, reservation_id, seat_id, price)
+            SELECT id, reservation_id, seat_id, price FROM reservation_seats WHERE reservation_id IN (:ids)
+            """;
+
+    /** 한 번 실행한 결과 */
+    public record Result(long reservations, long seats, int batches) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long batchPauseMs;
+    private final int maxBatchesPerRun;
+
+    // 같은 인스턴스에서 스케줄 실행과 수동 실행이 겹치지 않도록
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private final Counter archivedReservations;
+    private final Counter archivedSeats;
+
+    public ReservationArchiver(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                               @Value("${reservation.archive.enabled:true}") boolean enabled,
+                               @Value("${reservation.archive.retention-days:30}") int retentionDays,
+                               @Value("${reservation.archive.batch-size:500}") int batchSize,
+                               @Value("${reservation.archive.batch-pause-ms:200}") long batchPauseMs,
+                               @Value("${reservation.archive.max-batches-per-run:1000}") int maxBatchesPerRun,
+                               MeterRegistry meterRegistry) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchPauseMs = batchPauseMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.archivedReservations = Counter.builder("reservation.archive.moved").tag("table", "reservations").register(meterRegistry);
+        this.archivedSeats = Counter.builder("reservation.archive.moved").tag("table", "reservation_seats").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${reservation.archive.cron:0 0 5 * * *}")
+    public void scheduledRun() {
+        if (enabled) run();
+    }
+
+    /** 대상이 없거나 max-batches-per-run 에 닿을 때까지 옮긴다. 이미 실행 중이면 아무것도 하지 않는다 */
+    public Result run() {
+        if (!runLock.tryLock()) {
+            log.info("Reservation archiving is already running");
+            return new Result(0, 0, 0);
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            long started = System.currentTimeMillis();
+            long reservations = 0, seats = 0;
+            int batches = 0;
+            while (batches < maxBatchesPerRun) {
+                long[] moved = tx.execute(status -> moveBatch(cutoff));
+                if (moved == null || moved[0] == 0) break;
+                reservations += moved[0];
+                seats += moved[1];
+                batches++;
+                if (moved[0] < batchSize) break;
+                if (!pause()) break;
+            }
+            if (reservations > 0) {
+                log.info("Archived {} reservations ({} seats) of showtimes before {} in {} batches, {} ms",
+                        reservations, seats, cutoff, batches, System.currentTimeMillis() - started);
+            }
+            return new Result(reservations, seats, batches);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    // {옮긴 예매 수, 옮긴 좌석 수}
+    private long[] moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = jdbc.queryForList(SELECT_BATCH,
+                new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff)).addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) return new long[]{0, 0};
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        jdbc.update(COPY_RESERVATIONS, params);
+        int seats = jdbc.update(COPY_SEATS, params);
+        // 지난 회차의 좌석 잠금은 이미 만료됐고, reservations 를 참조하므로 먼저 지운다
+        jdbc.update("DELETE FROM seat_locks WHERE reservation_id IN (:ids)", params);
+        jdbc.update("DELETE FROM reservation_seats WHERE reservation_id IN (:ids)", params);
+        int reservations = jdbc.update("DELETE FROM reservations WHERE id IN (:ids)", params);
+
+        archivedReservations.increment(reservations);
+        archivedSeats.increment(seats);
+        return new long[]{reservations, seats};
+    }
+
+    private boolean pause() {
+        if (batchPauseMs <= 0) return true;
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
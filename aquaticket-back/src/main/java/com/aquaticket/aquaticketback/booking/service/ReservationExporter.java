@@ -0,0 +1,253 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.booking.exception.ExportBusyException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 공연별 예매 전체를 CSV/NDJSON 으로 내보낸다 (제작사 정산용). 한 줄 = 예매 좌석 하나 (좌석이 없는 취소 예매는 좌석 칸이 빈 한 줄).
+ *
+ * 행은 MySQL 스트리밍 결과셋(fetchSize = Integer.MIN_VALUE, forward-only)에서 한 줄씩 읽어 바로 출력에 쓰고,
+ * admin.export.flush-rows 줄마다 flush 한다. 전체를 메모리에 올리지 않으므로 수백만 행이어도 메모리 사용은 일정하다.
+ * gzip 이면 GZIPOutputStream(syncFlush) 으로 감싸서 flush 할 때마다 압축된 조각이 바로 나간다.
+ *
+ * 읽기 전용 트랜잭션이라 replica 가 있으면 replica 에서 읽고, 잠금 없는 일관된 읽기라 예매 쓰기를 막지 않는다.
+ * 격리 수준은 READ COMMITTED 라 스냅샷은 쿼리(원본/보관) 하나가 도는 동안만 유지된다. replica 가 없어 primary 에서 읽어도
+ * 내보내기 전체 동안 purge 를 붙잡지 않는다. 대신 원본을 읽은 뒤 보관된 예매는 원본/보관 양쪽에 한 번씩 나올 수 있다
+ * (reservation_id 가 같고 archived 만 다르다).
+ * 동시에 도는 내보내기는 admin.export.max-concurrent 개로 제한한다 (넘으면 ExportBusyException, 503).
+ */
+@Component
+public class ReservationExporter {
+    private static final Logger log = LoggerFactory.getLogger(ReservationExporter.class);
+
+    public enum Format { CSV, NDJSON }
+
+    /** 응답 헤더를 정한 뒤 출력 스트림을 연다 (permit 을 얻은 뒤에 호출되므로 503 은 헤더보다 먼저 나갈 수 있다) */
+    @FunctionalInterface
+    public interface Target {
+        OutputStream open() throws IOException;
+    }
+
+    // %1$s = 예매 테이블, %2$s = 예매 좌석 테이블 (원본 / 보관)
+    private static final String SELECT_TEMPLATE = """
+            SELECT r.id, r.booking_number, r.status, r.user_id, st.id AS showtime_id, st.start_at, r.confirmed_at,
+                   r.total_price, rs.seat_id, se.zone, se.row_label, se.seat_no, se.grade, rs.price AS seat_price
+              FROM performances p
+              JOIN shows sh ON sh.performance_id = p.id
+              JOIN showtimes st ON st.show_id = sh.id
+              JOIN %1$s r ON r.showtime_id = st.id
+              LEFT JOIN %2$s rs ON rs.reservation_id = r.id
+              LEFT JOIN seats se ON se.id = rs.seat_id
+             WHERE p.kopis_id = :kopisId
+            """;
+    private static final String SELECT_HOT = SELECT_TEMPLATE.formatted("reservations", "reservation_seats");
+    private static final String SELECT_ARCHIVE = SELECT_TEMPLATE.formatted("reservations_archive", "reservation_seats_archive");
+
+    private static final String[] COLUMNS = {"reservation_id", "booking_number", "status", "user_id", "showtime_id",
+            "start_at", "confirmed_at", "total_price", "seat_id", "zone", "row_label", "seat_no", "grade", "seat_price",
+            "archived"};
+
+    private final NamedParameterJdbcTemplate streaming;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+    private final int flushRows;
+    private final Semaphore permits;
+
+    private final Map<Format, Counter> exportedRows = new EnumMap<>(Format.class);
+
+    public ReservationExporter(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               @Value("${admin.export.flush-rows:1000}") int flushRows,
+                               @Value("${admin.export.max-concurrent:2}") int maxConcurrent,
+                               MeterRegistry meterRegistry) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        // MySQL Connector/J: 결과를 한 번에 받지 않고 한 행씩 스트리밍
+        jdbc.setFetchSize(Integer.MIN_VALUE);
+        this.streaming = new NamedParameterJdbcTemplate(jdbc);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.readOnlyTx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.objectMapper = objectMapper;
+        this.flushRows = Math.max(1, flushRows);
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+        for (Format format : Format.values()) {
+            exportedRows.put(format, Counter.builder("reservation.export.rows")
+                    .tag("format", format.name().toLowerCase()).register(meterRegistry));
+        }
+    }
+
+    /** 내보낸 행 수. 출력 도중 실패(클라이언트 연결 끊김 등)하면 UncheckedIOException */
+    public long export(String kopisId, Format format, boolean gzip, boolean includeArchived, Target target) {
+        if (!permits.tryAcquire()) {
+            throw new ExportBusyException("Another export is running. Please try again later.");
+        }
+        long started = System.currentTimeMillis();
+        try (OutputStream raw = target.open();
+             OutputStream out = gzip ? new GZIPOutputStream(raw, 1 << 16, true) : raw;
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16)) {
+            RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            rows.start();
+            long[] count = {0};
+            readOnlyTx.executeWithoutResult(status -> {
+                MapSqlParameterSource params = new MapSqlParameterSource("kopisId", kopisId);
+                RowCallbackHandler hot = rs -> write(rows, rs, false, count);
+                streaming.query(SELECT_HOT, params, hot);
+                if (includeArchived) {
+                    RowCallbackHandler archived = rs -> write(rows, rs, true, count);
+                    streaming.query(SELECT_ARCHIVE, params, archived);
+                }
+            });
+            rows.finish();
+            exportedRows.get(format).increment(count[0]);
+            log.info("Exported {} reservation rows of performance {} as {} in {} ms",
+                    count[0], kopisId, format, System.currentTimeMillis() - started);
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reservation export of performance " + kopisId + " failed", e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void write(RowWriter rows, ResultSet rs, boolean archived, long[] count) throws SQLException {
+        try {
+            rows.row(new Object[]{
+                    rs.getLong("id"), rs.getString("booking_number"), rs.getString("status"),
+                    rs.getObject("user_id", Long.class), rs.getLong("showtime_id"), timestamp(rs, "start_at"),
+                    timestamp(rs, "confirmed_at"), rs.getObject("total_price", Integer.class),
+                    rs.getObject("seat_id", Long.class), rs.getString("zone"), rs.getString("row_label"),
+                    rs.getObject("seat_no", Integer.class), rs.getString("grade"),
+                    rs.getObject("seat_price", Integer.class), archived});
+            if (++count[0] % flushRows == 0) rows.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        Timestamp ts = rs.getTimestamp(column);
+        return ts != null ? ts.toLocalDateTime().toString() : null;
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void row(Object[] values) throws IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            // 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM
+            writer.write('\uFEFF');
+            row(COLUMNS);
+        }
+
+        @Override
+        public void row(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) writer.write(',');
+                if (values[i] != null) writeField(values[i].toString());
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180: 쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번
+        private void writeField(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private JsonGenerator json;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            json = objectMapper.getFactory().createGenerator(writer);
+            // 출력 스트림은 export 에서 닫는다
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void row(Object[] values) throws IOException {
+            json.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                json.writeFieldName(COLUMNS[i]);
+                json.writeObject(values[i]);
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            json.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.close();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.booking.domain.Performance;
+import com.aquaticket.aquaticketback.booking.domain.Reservation;
+import com.aquaticket.aquaticketback.booking.domain.ReservationView;
+import com.aquaticket.aquaticketback.booking.domain.Seat;
+import com.aquaticket.aquaticketback.booking.repository.ReservationViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * reservation_views(읽기 모델) 갱신.
+ * write/markCancelled 는 BookingService 의 확정/취소 트랜잭션 안에서 불려서 원본과 함께 커밋/롤백된다.
+ * rebuild 는 원본 테이블(reservations, reservation_seats, seats, showtimes, shows, performances)과
+ * 보관 테이블(reservations_archive, reservation_seats_archive, ReservationArchiver)에서 reservation id 구간 단위로 다시 채운다. 테이블이 비어 있으면 기동 시 한 번 자동으로 실행된다.
+ */
+@Component
+public class ReservationViewWriter {
+    private static final Logger log = LoggerFactory.getLogger(ReservationViewWriter.class);
+
+    private static final Comparator<Seat> SEAT_ORDER = Comparator
+            .comparing((Seat s) -> s.getZone() == null ? "" : s.getZone())
+            .thenComparing(Seat::getRowLabel)
+            .thenComparing(Seat::getSeatNo);
+
+    // 좌석 라벨은 label(Seat) 과 같은 형식. 취소된 예매는 reservation_seats 가 지워지므로 기존 라벨을 남긴다
+    // %1$s = reservations 테이블, %2$s = reservation_seats 테이블 (보관 테이블에서도 같은 쿼리로 채운다)
+    private static final String REBUILD_TEMPLATE = """
+            INSERT INTO reservation_views (reservation_id, user_id, booking_number, performance_title, poster_url,
+                                           viewing_at, booked_at, seat_labels, seat_count, total_price, status)
+            SELECT r.id, r.user_id, r.booking_number, p.title, p.poster_url, st.start_at, r.confirmed_at,
+                   (SELECT GROUP_CONCAT(CONCAT_WS(' ', NULLIF(s.zone, ''), CONCAT(s.row_label, '-', s.seat_no))
+                                        ORDER BY COALESCE(s.zone, ''), s.row_label, s.seat_no SEPARATOR ', ')
+                      FROM %2$s rs JOIN seats s ON s.id = rs.seat_id
+                     WHERE rs.reservation_id = r.id),
+                   (SELECT COUNT(*) FROM %2$s rs WHERE rs.reservation_id = r.id),
+                   r.total_price, r.status
+              FROM %1$s r
+              JOIN showtimes st ON st.id = r.showtime_id
+              JOIN shows sh ON sh.id = r.show_id
+              JOIN performances p ON p.id = sh.performance_id
+             WHERE r.id > ? AND r.id <= ? AND r.user_id IS NOT NULL
+            ON DUPLICATE KEY UPDATE
+                user_id = VALUES(user_id),
+                booking_number = VALUES(booking_number),
+                performance_title = VALUES(performance_title),
+                poster_url = VALUES(poster_url),
+                viewing_at = VALUES(viewing_at),
+                booked_at = VALUES(booked_at),
+                seat_labels = IF(VALUES(seat_count) > 0, VALUES(seat_labels), seat_labels),
+                seat_count = IF(VALUES(seat_count) > 0, VALUES(seat_count), seat_count),
+                total_price = VALUES(total_price),
+                status = VALUES(status)
+            """;
+    private static final String REBUILD_SQL = REBUILD_TEMPLATE.formatted("reservations", "reservation_seats");
+    private static final String REBUILD_ARCHIVE_SQL = REBUILD_TEMPLATE.formatted("reservations_archive", "reservation_seats_archive");
+
+    private static final String DELETE_ORPHANS_SQL = """
+            DELETE v FROM reservation_views v
+              LEFT JOIN reservations r ON r.id = v.reservation_id
+              LEFT JOIN reservations_archive a ON a.id = v.reservation_id
+             WHERE r.id IS NULL AND a.id IS NULL
+            """;
+
+    private final ReservationViewRepository reservationViewRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final boolean rebuildIfEmpty;
+
+    // 수동 rebuild 와 기동 시 rebuild 가 겹치지 않도록
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public ReservationViewWriter(ReservationViewRepository reservationViewRepository, JdbcTemplate jdbcTemplate,
+                                 @Value("${reservation-view.rebuild-batch-size:5000}") int batchSize,
+                                 @Value("${reservation-view.rebuild-if-empty:true}") boolean rebuildIfEmpty) {
+        this.reservationViewRepository = reservationViewRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.rebuildIfEmpty = rebuildIfEmpty;
+    }
+
+    /** 확정된 예매 한 건. seats 는 이번에 저장한 좌석 */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(Reservation reservation, List<Seat> seats) {
+        Performance performance = reservation.getShow().getPerformance();
+
+        ReservationView view = new ReservationView();
+        view.setReservationId(reservation.getId());
+        view.setUserId(reservation.getUser().getId());
+        view.setBookingNumber(reservation.getBookingNumber());
+        view.setPerformanceTitle(performance.getTitle());
+        view.setPosterUrl(performance.getPosterUrl());
+        view.setViewingAt(reservation.getShowtime().getStartAt());
+        view.setBookedAt(reservation.getConfirmedAt());
+        view.setSeatLabels(seats.stream().sorted(SEAT_ORDER).map(ReservationViewWriter::label).collect(Collectors.joining(", ")));
+        view.setSeatCount(seats.size());
+        view.setTotalPrice(reservation.getTotalPrice());
+        view.setStatus(reservation.getStatus());
+        reservationViewRepository.save(view);
+    }
+
+    /** 취소. 좌석 라벨은 티켓 화면에 그대로 보여주기 위해 남긴다 */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markCancelled(Reservation reservation) {
+        if (reservationViewRepository.updateStatus(reservation.getId(), reservation.getStatus()) == 0) {
+            // 읽기 모델이 생기기 전의 예매 등 행이 없으면 원본에서 한 건만 채운다 (바뀐 status 를 먼저 flush)
+            reservationViewRepository.flush();
+            jdbcTemplate.update(REBUILD_SQL, reservation.getId() - 1, reservation.getId());
+        }
+    }
+
+    static String label(Seat seat) {
+        String rowSeat = seat.getRowLabel() + "-" + seat.getSeatNo();
+        return seat.getZone() == null || seat.getZone().isBlank() ? rowSeat : seat.getZone() + " " + rowSeat;
+    }
+
+    /**
+     * 원본 테이블로 읽기 모델 전체를 다시 만든다. 구간마다 따로 커밋되므로 긴 트랜잭션/락을 잡지 않고,
+     * 그 사이의 확정/취소는 write/markCancelled 가 반영한다.
+     * @return INSERT ... ON DUPLICATE KEY UPDATE 의 영향받은 행 수 합 (MySQL 은 갱신된 행을 2로 센다)
+     */
+    public long rebuild() {
+        rebuildLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            long rows = rebuildFrom("reservations_archive", REBUILD_ARCHIVE_SQL) + rebuildFrom("reservations", REBUILD_SQL);
+            int orphans = jdbcTemplate.update(DELETE_ORPHANS_SQL);
+            log.info("Rebuilt reservation_views ({} rows affected, {} orphans removed) in {} ms",
+                    rows, orphans, System.currentTimeMillis() - started);
+            return rows;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private long rebuildFrom(String table, String sql) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long rows = 0;
+        for (long lo = 0; lo < maxId; lo += batchSize) {
+            rows += jdbcTemplate.update(sql, lo, Math.min(lo + batchSize, maxId));
+        }
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (!rebuildIfEmpty || reservationViewRepository.count() > 0) return;
+        Long reservations = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations", Long.class);
+        if (reservations != null && reservations > 0) {
+            log.info("reservation_views is empty. Rebuilding from {} reservations", reservations);
+            rebuild();
+        }
+    }
+}
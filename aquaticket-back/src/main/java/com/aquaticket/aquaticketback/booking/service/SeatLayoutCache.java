@@ -0,0 +1,68 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.booking.domain.Seat;
+import com.aquaticket.aquaticketback.booking.repository.SeatRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 공연장별 좌석 배치 캐시.
+ * 좌석은 생성 후 바뀌지 않으므로 공연장 단위로 한 번 읽어 두고 좌석 현황 조회 때마다 재사용한다.
+ * 좌석이 아직 없는 공연장(배치 생성 중)은 캐시하지 않는다. SeatLayoutGenerator 는 배치 전체를 한 트랜잭션으로 넣으므로
+ * 생성 도중에 읽어도 일부만 캐시되지 않는다.
+ * 비우기(evict)는 이 인스턴스에만 적용되므로, 다른 인스턴스에서 바뀐 배치도 반영되도록 seat-layout.cache.ttl-ms 가 지나면 다시 읽는다.
+ */
+@Component
+public class SeatLayoutCache {
+
+    private static final int MAX_VENUES = 512;
+
+    /** 좌석 현황 계산에 필요한 값만 담은 불변 좌석 정보 */
+    public record SeatView(Long id, String zone, String rowLabel, Integer seatNo, Integer price, String grade) {}
+
+    private record Entry(List<SeatView> seats, long loadedAt) {}
+
+    private final SeatRepository seatRepository;
+    private final long ttlMs;
+    private final Map<Long, Entry> byVenue = new ConcurrentHashMap<>();
+
+    public SeatLayoutCache(SeatRepository seatRepository,
+                           @Value("${seat-layout.cache.ttl-ms:600000}") long ttlMs) {
+        this.seatRepository = seatRepository;
+        this.ttlMs = ttlMs;
+    }
+
+    public List<SeatView> get(Long venueId) {
+        Entry entry = byVenue.get(venueId);
+        if (isFresh(entry)) return entry.seats();
+
+        List<SeatView> seats = seatRepository.findByVenueId(venueId).stream()
+                .map(SeatLayoutCache::toView)
+                .toList();
+        if (!seats.isEmpty()) {
+            if (byVenue.size() >= MAX_VENUES) byVenue.clear();
+            byVenue.put(venueId, new Entry(seats, System.currentTimeMillis()));
+        }
+        return seats;
+    }
+
+    public boolean isLoaded(Long venueId) {
+        return isFresh(byVenue.get(venueId));
+    }
+
+    private boolean isFresh(Entry entry) {
+        return entry != null && System.currentTimeMillis() - entry.loadedAt() < ttlMs;
+    }
+
+    public void evict(Long venueId) {
+        byVenue.remove(venueId);
+    }
+
+    private static SeatView toView(Seat seat) {
+        return new SeatView(seat.getId(), seat.getZone(), seat.getRowLabel(), seat.getSeatNo(), seat.getPrice(), seat.getGrade());
+    }
+}
@@ -0,0 +1,124 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.booking.domain.PriceTier;
+import com.aquaticket.aquaticketback.booking.repository.PriceTierRepository;
+import com.aquaticket.aquaticketback.booking.repository.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 공연장 좌석 배치 생성기.
+ * VenueTemplate 을 따라 seats 행을 만들되, 전체를 메모리에 올리지 않고 BATCH_SIZE 단위로 JDBC batch insert 한다.
+ * (venue_id, zone, row_label, seat_no) 유니크 키 + INSERT IGNORE 로 여러 번 실행해도 결과가 같다.
+ * 배치 전체를 한 트랜잭션으로 넣으므로, 생성 도중 좌석을 읽는 쪽(SeatLayoutCache)은 빈 배치나 전체 배치만 본다.
+ */
+@Service
+public class SeatLayoutGenerator {
+    private static final Logger log = LoggerFactory.getLogger(SeatLayoutGenerator.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int DEFAULT_PRICE = 50000;
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO seats (venue_id, zone, row_label, seat_no, price, grade) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SeatRepository seatRepository;
+    private final PriceTierRepository priceTierRepository;
+    private final SeatLayoutCache seatLayoutCache;
+    private final TransactionTemplate tx;
+
+    public SeatLayoutGenerator(JdbcTemplate jdbcTemplate, SeatRepository seatRepository,
+                               PriceTierRepository priceTierRepository, SeatLayoutCache seatLayoutCache,
+                               PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seatRepository = seatRepository;
+        this.priceTierRepository = priceTierRepository;
+        this.seatLayoutCache = seatLayoutCache;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /** 새 공연장이 커밋된 뒤 백그라운드에서 기본 템플릿으로 좌석을 만든다. */
+    @Async("seatLayoutExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVenueCreated(VenueCreatedEvent event) {
+        try {
+            List<PriceTier> tiers = priceTierRepository.findByPerformanceIdOrderBySortOrderAsc(event.performanceId());
+            generate(event.venueId(), VenueTemplate.standard(), tiers);
+        } catch (Exception e) {
+            log.error("Seat layout generation failed for venue {}", event.venueId(), e);
+        }
+    }
+
+    /**
+     * 템플릿대로 좌석을 생성한다. 이미 템플릿 좌석 수만큼 있으면 아무것도 하지 않는다.
+     * 커밋한 뒤에 캐시를 비운다. 커밋 전에 비우면 그 사이 다른 요청이 커밋 전 배치를 다시 캐시할 수 있다.
+     * @return 새로 insert 된 좌석 수
+     */
+    public int generate(Long venueId, VenueTemplate template, List<PriceTier> tiers) {
+        long existing = seatRepository.countByVenueId(venueId);
+        if (existing >= template.totalSeats()) {
+            log.info("Venue {} already has {} seats. Skipping layout generation.", venueId, existing);
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        int inserted = tx.execute(status -> insertAll(venueId, template, rankByPrice(tiers)));
+        seatLayoutCache.evict(venueId);
+
+        log.info("Seat layout generated for venue {}: {} seats inserted in {} ms",
+                venueId, inserted, System.currentTimeMillis() - start);
+        return inserted;
+    }
+
+    private int insertAll(Long venueId, VenueTemplate template, List<PriceTier> ranked) {
+        int inserted = 0;
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (VenueTemplate.Zone zone : template.zones()) {
+            PriceTier tier = ranked.isEmpty() ? null : ranked.get(Math.min(zone.gradeRank(), ranked.size() - 1));
+            String grade = (tier != null) ? tier.getGrade() : null;
+            int price = (tier != null) ? tier.getMaxWon() : DEFAULT_PRICE;
+
+            for (int r = 0; r < zone.rows(); r++) {
+                String rowLabel = VenueTemplate.rowLabel(r);
+                for (int n = 1; n <= zone.seatsPerRow(); n++) {
+                    batch.add(new Object[]{venueId, zone.name(), rowLabel, n, price, grade});
+                    if (batch.size() == BATCH_SIZE) {
+                        inserted += flush(batch);
+                    }
+                }
+            }
+        }
+        inserted += flush(batch);
+        return inserted;
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) return 0;
+        int count = 0;
+        for (int affected : jdbcTemplate.batchUpdate(INSERT_SQL, batch)) {
+            // rewriteBatchedStatements 사용 시 드라이버가 SUCCESS_NO_INFO(-2)를 돌려줄 수 있다
+            count += (affected < 0) ? 1 : affected;
+        }
+        batch.clear();
+        return count;
+    }
+
+    /** 등급별 최고가 기준 내림차순 (같은 등급명은 한 번만) */
+    private List<PriceTier> rankByPrice(List<PriceTier> tiers) {
+        Map<String, PriceTier> byGrade = new LinkedHashMap<>();
+        for (PriceTier t : tiers) byGrade.putIfAbsent(t.getGrade(), t);
+        List<PriceTier> ranked = new ArrayList<>(byGrade.values());
+        ranked.sort(Comparator.comparing(PriceTier::getMaxWon).reversed());
+        return ranked;
+    }
+}
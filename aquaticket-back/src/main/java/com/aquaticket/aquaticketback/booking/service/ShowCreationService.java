@@ -3,7 +3,17 @@ package com.aquaticket.aquaticketback.booking.service;
 import com.aquaticket.aquaticketback.booking.domain.Show;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 public interface ShowCreationService {
     Show createShowFromKopis(String kopisId, LocalDateTime startAt);
+
+    /** 공연 일정(dtguidance)의 모든 회차를 한 트랜잭션에서 만든다. updatedate 가 같으면 다시 만들지 않는다. */
+    Show materializeShowtimes(String kopisId);
+
+    /** 일정에 없는 시각의 회차를 한 트랜잭션에서 batch insert 한다 (이미 있는 시각은 건너뜀). */
+    void addShowtimes(String kopisId, Collection<LocalDateTime> startAts);
+
+    /** (kopisId, startAt) 회차를 유니크 키 upsert 로 만들거나 찾아 id 를 반환한다. */
+    Long upsertShowtime(String kopisId, LocalDateTime startAt);
 }
@@ -1,97 +1,71 @@
 package com.aquaticket.aquaticketback.booking.service;
 
-import com.aquaticket.aquaticketback.booking.domain.Performance;
 import com.aquaticket.aquaticketback.booking.domain.Show;
-import com.aquaticket.aquaticketback.booking.domain.Venue;
-import com.aquaticket.aquaticketback.booking.repository.PerformanceRepository;
 import com.aquaticket.aquaticketback.booking.repository.ShowRepository;
-import com.aquaticket.aquaticketback.booking.repository.VenueRepository;
+import com.aquaticket.aquaticketback.kopis.KopisClient;
 import com.aquaticket.aquaticketback.kopis.KopisDetail;
-import com.aquaticket.aquaticketback.kopis.KopisDetailEnvelope;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.Collections;
 
+/**
+ * KOPIS 상세로 공연/회차를 만든다.
+ * 1. 트랜잭션 밖에서 KOPIS 상세 조회 (KopisClient 캐시 + 같은 공연 동시 요청은 한 번만 호출)
+ * 2. ShowWriter 의 짧은 쓰기 트랜잭션에서 저장만
+ * 느린 KOPIS 응답을 기다리는 동안 DB 커넥션/락을 잡고 있지 않는다.
+ */
 @Service
 public class ShowCreationServiceImpl implements ShowCreationService {
 
-    private final PerformanceRepository performanceRepository;
     private final ShowRepository showRepository;
-    private final VenueRepository venueRepository;
-    private final RestTemplate restTemplate;
-    private final XmlMapper xmlMapper;
-    private final String kopisServiceKey;
+    private final KopisClient kopisClient;
+    private final ShowWriter showWriter;
 
-    public ShowCreationServiceImpl(PerformanceRepository performanceRepository, ShowRepository showRepository,
-                                 VenueRepository venueRepository, @Value("${kopis.service-key}") String kopisServiceKey) {
-        this.performanceRepository = performanceRepository;
+    public ShowCreationServiceImpl(ShowRepository showRepository, KopisClient kopisClient, ShowWriter showWriter) {
         this.showRepository = showRepository;
-        this.venueRepository = venueRepository;
-        this.kopisServiceKey = kopisServiceKey;
-        this.restTemplate = new RestTemplate();
-        this.xmlMapper = new XmlMapper();
-        this.xmlMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.kopisClient = kopisClient;
+        this.showWriter = showWriter;
     }
 
     @Override
-    @Transactional
     public Show createShowFromKopis(String kopisId, LocalDateTime startAt) {
         KopisDetail detail = fetchKopisDetail(kopisId);
+        return showWriter.saveShow(detail, startAt);
+    }
 
-        // Step 1: Explicitly find or create Venue using the KOPIS facility ID, then flush.
-        Optional<Venue> venueOpt = venueRepository.findByKopisFacilityId(detail.getMt10id());
-        Venue venue;
-        if (venueOpt.isEmpty()) {
-            Venue newVenue = new Venue();
-            newVenue.setKopisFacilityId(detail.getMt10id());
-            newVenue.setName(detail.getFcltynm());
-            venue = venueRepository.saveAndFlush(newVenue);
-        } else {
-            venue = venueOpt.get();
-        }
+    @Override
+    public Show materializeShowtimes(String kopisId) {
+        KopisDetail detail = fetchKopisDetail(kopisId);
+        return showWriter.saveSchedule(detail);
+    }
 
-        // Step 2: Explicitly find or create Performance, then flush.
-        Optional<Performance> perfOpt = performanceRepository.findByKopisId(kopisId);
-        Performance performance;
-        if (perfOpt.isEmpty()) {
-            Performance newPerf = new Performance();
-            newPerf.setKopisId(kopisId);
-            newPerf.setTitle(detail.getPrfnm());
-            newPerf.setPosterUrl(detail.getPoster());
-            newPerf.setVenue(venue);
-            performance = performanceRepository.saveAndFlush(newPerf);
-        } else {
-            performance = perfOpt.get();
-        }
+    @Override
+    public void addShowtimes(String kopisId, Collection<LocalDateTime> startAts) {
+        if (startAts.isEmpty()) return;
+        Show show = findOrCreateShow(kopisId, Collections.min(startAts));
+        showWriter.saveShowtimes(show, startAts);
+    }
+
+    @Override
+    public Long upsertShowtime(String kopisId, LocalDateTime startAt) {
+        Show show = findOrCreateShow(kopisId, startAt);
+        return showWriter.upsertShowtime(show, startAt);
+    }
 
-        // Step 3: Create and save the final Show entity.
-        Show newShow = new Show();
-        newShow.setKopisId(kopisId);
-        newShow.setPerformance(performance);
-        newShow.setStartsAt(startAt);
-        return showRepository.save(newShow);
+    // Show 가 이미 있으면 KOPIS 를 부르지 않는다
+    private Show findOrCreateShow(String kopisId, LocalDateTime startsAt) {
+        return showRepository.findByKopisId(kopisId)
+                .orElseGet(() -> createShowFromKopis(kopisId, startsAt));
     }
 
     private KopisDetail fetchKopisDetail(String kopisId) {
-        String url = UriComponentsBuilder.fromUriString("http://www.kopis.or.kr/openApi/restful/pblprfr/" + kopisId)
-                .queryParam("service", kopisServiceKey)
-                .build().toUriString();
-        try {
-            byte[] bytes = restTemplate.getForObject(url, byte[].class);
-            KopisDetailEnvelope env = xmlMapper.readValue(bytes, KopisDetailEnvelope.class);
-            if (env == null || env.getDb() == null || env.getDb().isEmpty()) {
-                throw new RuntimeException("Failed to fetch details from KOPIS for id: " + kopisId);
-            }
-            return env.getDb().get(0);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to fetch or parse KOPIS details for id: " + kopisId, e);
+        // bulkhead/circuit breaker 를 거치며, KOPIS 장애 시 마지막으로 받은 상세로 대체된다
+        KopisDetail detail = kopisClient.fetchDetail(kopisId);
+        if (detail == null) {
+            throw new RuntimeException("Failed to fetch details from KOPIS for id: " + kopisId);
         }
+        return detail;
     }
 }
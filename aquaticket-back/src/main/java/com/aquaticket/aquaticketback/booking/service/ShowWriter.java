@@ -0,0 +1,128 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.booking.domain.Performance;
+import com.aquaticket.aquaticketback.booking.domain.Show;
+import com.aquaticket.aquaticketback.booking.domain.Venue;
+import com.aquaticket.aquaticketback.booking.repository.KopisUpsertRepository;
+import com.aquaticket.aquaticketback.booking.repository.PerformanceRepository;
+import com.aquaticket.aquaticketback.booking.repository.ShowRepository;
+import com.aquaticket.aquaticketback.booking.repository.VenueRepository;
+import com.aquaticket.aquaticketback.kopis.KopisDetail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 공연장/공연/Show/회차 저장 전용 (짧은 쓰기 트랜잭션).
+ * KOPIS 호출은 하지 않는다. 호출하는 쪽(ShowCreationServiceImpl)이 트랜잭션 밖에서 상세를 받아 넘겨준다.
+ * 없을 때는 유니크 키 upsert(KopisUpsertRepository)로 만들어서 동시에 호출돼도 행이 하나만 생긴다.
+ */
+@Service
+public class ShowWriter {
+    private static final Logger log = LoggerFactory.getLogger(ShowWriter.class);
+
+    private final PerformanceRepository performanceRepository;
+    private final ShowRepository showRepository;
+    private final VenueRepository venueRepository;
+    private final PriceTierService priceTierService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShowtimeMaterializer showtimeMaterializer;
+    private final KopisUpsertRepository kopisUpsertRepository;
+
+    public ShowWriter(PerformanceRepository performanceRepository, ShowRepository showRepository,
+                      VenueRepository venueRepository, PriceTierService priceTierService,
+                      ApplicationEventPublisher eventPublisher, ShowtimeMaterializer showtimeMaterializer,
+                      KopisUpsertRepository kopisUpsertRepository) {
+        this.performanceRepository = performanceRepository;
+        this.showRepository = showRepository;
+        this.venueRepository = venueRepository;
+        this.priceTierService = priceTierService;
+        this.eventPublisher = eventPublisher;
+        this.showtimeMaterializer = showtimeMaterializer;
+        this.kopisUpsertRepository = kopisUpsertRepository;
+    }
+
+    @Transactional
+    public Show saveShow(KopisDetail detail, LocalDateTime startsAt) {
+        Performance performance = findOrCreatePerformance(detail);
+        return findOrCreateShow(detail.getMt20id(), performance, startsAt);
+    }
+
+    /**
+     * 공연 일정 전체를 저장한다.
+     * Performance.scheduleUpdatedate 가 detail.updatedate 와 같으면 아무것도 하지 않는다. 단, 오픈런처럼 만들어 둔 회차가
+     * 곧 끝나면(ShowtimeMaterializer.needsExtension) 일정이 그대로여도 뒤쪽을 이어서 만든다.
+     */
+    @Transactional
+    public Show saveSchedule(KopisDetail detail) {
+        String kopisId = detail.getMt20id();
+        Performance performance = findOrCreatePerformance(detail);
+
+        String updatedate = detail.getUpdatedate();
+        Optional<Show> existingShow = showRepository.findByKopisId(kopisId);
+        if (existingShow.isPresent() && updatedate != null && updatedate.equals(performance.getScheduleUpdatedate())
+                && !showtimeMaterializer.needsExtension(detail)) {
+            return existingShow.get();
+        }
+
+        List<LocalDateTime> slots = showtimeMaterializer.slotsFor(detail);
+        Show show = existingShow.orElseGet(() -> findOrCreateShow(kopisId, performance,
+                slots.isEmpty() ? LocalDate.now().atStartOfDay() : slots.get(0)));
+
+        showtimeMaterializer.materialize(show, detail);
+        performance.setScheduleUpdatedate(updatedate);
+        performanceRepository.save(performance);
+        return show;
+    }
+
+    @Transactional
+    public int saveShowtimes(Show show, Collection<LocalDateTime> startAts) {
+        int inserted = showtimeMaterializer.insertMissing(show, startAts);
+        log.info("Added {} showtimes outside the KOPIS schedule for {}", inserted, show.getKopisId());
+        return inserted;
+    }
+
+    @Transactional
+    public Long upsertShowtime(Show show, LocalDateTime startAt) {
+        return kopisUpsertRepository.upsertShowtime(show.getKopisId(), show.getId(), startAt);
+    }
+
+    // 공연장 → 공연 순서로 찾거나 upsert 하고, 가격 등급을 맞춘다.
+    private Performance findOrCreatePerformance(KopisDetail detail) {
+        String kopisId = detail.getMt20id();
+
+        Optional<Venue> venueOpt = venueRepository.findByKopisFacilityId(detail.getMt10id());
+        boolean venueCreated = venueOpt.isEmpty();
+        Venue venue = venueOpt.orElseGet(() -> venueRepository.getReferenceById(
+                kopisUpsertRepository.upsertVenue(detail.getMt10id(), detail.getFcltynm())));
+
+        Performance performance = performanceRepository.findByKopisId(kopisId)
+                .orElseGet(() -> performanceRepository.findById(
+                        kopisUpsertRepository.upsertPerformance(kopisId, detail.getPrfnm(), detail.getPoster(), venue.getId()))
+                        .orElseThrow());
+
+        // 가격 등급 저장 (updatedate 가 같으면 잠그지도 다시 파싱하지도 않음)
+        priceTierService.syncTiers(performance, detail);
+
+        // 처음 보는 공연장이면 커밋 후 백그라운드에서 좌석 배치 생성 (동시에 두 번 발행돼도 생성기는 멱등)
+        if (venueCreated) {
+            eventPublisher.publishEvent(new VenueCreatedEvent(venue.getId(), performance.getId()));
+        }
+        return performance;
+    }
+
+    // 공연당 Show 하나 (shows.kopis_id 유니크)
+    private Show findOrCreateShow(String kopisId, Performance performance, LocalDateTime startsAt) {
+        return showRepository.findByKopisId(kopisId)
+                .orElseGet(() -> showRepository.findById(
+                        kopisUpsertRepository.upsertShow(kopisId, performance.getId(), startsAt)).orElseThrow());
+    }
+}
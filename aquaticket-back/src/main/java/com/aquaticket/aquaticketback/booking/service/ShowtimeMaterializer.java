@@ -0,0 +1,132 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.booking.domain.Show;
+import com.aquaticket.aquaticketback.booking.repository.ShowtimeRepository;
+import com.aquaticket.aquaticketback.kopis.DtguidanceParser;
+import com.aquaticket.aquaticketback.kopis.KopisDetail;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * KOPIS dtguidance + 공연 기간(prfpdfrom ~ prfpdto)을 실제 회차로 펼쳐 showtimes 에 한꺼번에 넣는다.
+ * 호출한 쪽(ShowWriter)의 트랜잭션 안에서 실행되고, 이미 있는 회차는 건너뛴다.
+ * 동시에 다른 요청이 같은 회차를 넣어도 (kopis_id, start_at) 유니크 키 + INSERT IGNORE 로 중복되지 않는다.
+ * 오픈런처럼 종료일이 먼 공연은 오늘부터 showtime.materialize.horizon-days 까지만 만든다.
+ * 마지막 회차가 그 끝에서 showtime.materialize.extend-within-days 안으로 들어오면 needsExtension 이 true 가 되어 다시 펼친다.
+ * Hibernate 는 JDBC 로 넣은 행을 모르므로, insert 뒤에는 쿼리 캐시를 비운다 (KopisUpsertRepository 와 같음).
+ */
+@Component
+public class ShowtimeMaterializer {
+    private static final Logger log = LoggerFactory.getLogger(ShowtimeMaterializer.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT_SQL = "INSERT IGNORE INTO showtimes (kopis_id, show_id, start_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShowtimeRepository showtimeRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int horizonDays;
+    private final int extendWithinDays;
+
+    public ShowtimeMaterializer(JdbcTemplate jdbcTemplate, ShowtimeRepository showtimeRepository,
+                                EntityManagerFactory entityManagerFactory,
+                                @Value("${showtime.materialize.horizon-days:180}") int horizonDays,
+                                @Value("${showtime.materialize.extend-within-days:30}") int extendWithinDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.showtimeRepository = showtimeRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.horizonDays = horizonDays;
+        this.extendWithinDays = extendWithinDays;
+    }
+
+    /**
+     * 일정이 바뀌지 않았어도 다시 펼쳐야 하면 true.
+     * 만들어 둔 마지막 회차가 (공연 종료일과 오늘 + horizon-days 중 이른 날) - extend-within-days 보다 앞이면
+     * 지난 날만큼 뒤쪽 회차가 비어 가고 있는 것이다 (오픈런).
+     */
+    public boolean needsExtension(KopisDetail detail) {
+        LocalDate to = DtguidanceParser.parseDate(detail.getPrfpdto());
+        if (to == null) return false;
+        LocalDate horizon = LocalDate.now().plusDays(horizonDays);
+        if (to.isAfter(horizon)) to = horizon;
+
+        LocalDateTime last = showtimeRepository.findLastStartAtByKopisId(detail.getMt20id());
+        // 한 번도 못 만든 일정(dtguidance 파싱 실패 등)은 다시 펼쳐도 같으므로 updatedate 가 바뀔 때만
+        return last != null && last.toLocalDate().isBefore(to.minusDays(extendWithinDays));
+    }
+
+    /** 공연 일정에 해당하는 회차 일시 목록 (오늘 이전 회차 제외) */
+    public List<LocalDateTime> slotsFor(KopisDetail detail) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = DtguidanceParser.parseDate(detail.getPrfpdfrom());
+        LocalDate to = DtguidanceParser.parseDate(detail.getPrfpdto());
+        if (from == null || to == null) return List.of();
+
+        if (from.isBefore(today)) from = today;
+        LocalDate horizon = today.plusDays(horizonDays);
+        if (to.isAfter(horizon)) to = horizon;
+        return DtguidanceParser.expand(detail.getDtguidance(), from, to);
+    }
+
+    /**
+     * show 에 속한 회차를 모두 만든다.
+     * @return 새로 insert 된 회차 수
+     */
+    public int materialize(Show show, KopisDetail detail) {
+        List<LocalDateTime> slots = slotsFor(detail);
+        if (slots.isEmpty()) {
+            log.info("No schedule could be derived for {} (dtguidance='{}')", show.getKopisId(), detail.getDtguidance());
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        int inserted = insertMissing(show, slots);
+        log.info("Materialized {} showtimes for {} ({} in schedule) in {} ms",
+                inserted, show.getKopisId(), slots.size(), System.currentTimeMillis() - start);
+        return inserted;
+    }
+
+    /**
+     * 주어진 시각 중 아직 없는 회차만 batch insert 한다.
+     * @return 새로 insert 된 회차 수
+     */
+    public int insertMissing(Show show, Collection<LocalDateTime> startAts) {
+        Set<LocalDateTime> existing = new HashSet<>(showtimeRepository.findStartAtsByKopisId(show.getKopisId()));
+        List<Object[]> batch = new ArrayList<>(Math.min(startAts.size(), BATCH_SIZE));
+        int inserted = 0;
+        for (LocalDateTime slot : startAts) {
+            if (!existing.add(slot)) continue;
+            batch.add(new Object[]{show.getKopisId(), show.getId(), Timestamp.valueOf(slot)});
+            if (batch.size() == BATCH_SIZE) {
+                inserted += flush(batch);
+            }
+        }
+        inserted += flush(batch);
+        return inserted;
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) return 0;
+        int count = 0;
+        for (int affected : jdbcTemplate.batchUpdate(INSERT_SQL, batch)) {
+            // rewriteBatchedStatements 사용 시 드라이버가 SUCCESS_NO_INFO(-2)를 돌려줄 수 있다
+            count += (affected < 0) ? 1 : affected;
+        }
+        batch.clear();
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictDefaultQueryRegion();
+        return count;
+    }
+}
@@ -0,0 +1,179 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import com.aquaticket.aquaticketback.booking.domain.Showtime;
+import com.aquaticket.aquaticketback.booking.repository.ShowtimeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 미리 만들어 둔 회차(showtimes) 조회.
+ * 공연 상세를 볼 때 prepareAsync 로 일정 전체를 백그라운드에서 만들어 두고,
+ * 좌석 선택 시 (kopisId, startAt) → showtimeId 는 메모리 캐시 → DB 순으로 찾기만 한다.
+ */
+@Service
+public class ShowtimeScheduleService {
+    private static final Logger log = LoggerFactory.getLogger(ShowtimeScheduleService.class);
+
+    private static final int MAX_CACHED_IDS = 20_000;
+
+    private record Key(String kopisId, LocalDateTime startAt) {}
+
+    private final ShowtimeRepository showtimeRepository;
+    private final ShowCreationService showCreationService;
+
+    // (kopisId, startAt) → showtimeId (LRU). 회차 id 는 바뀌지 않으므로 만료 없이 크기만 제한한다.
+    private final Map<Key, Long> ids = Collections.synchronizedMap(
+            new LinkedHashMap<Key, Long>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+                    return size() > MAX_CACHED_IDS;
+                }
+            });
+
+    // 같은 공연을 동시에 두 번 만들지 않도록. 늦게 온 호출은 먼저 시작한 생성이 끝날 때까지 기다린다.
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public ShowtimeScheduleService(ShowtimeRepository showtimeRepository, ShowCreationService showCreationService) {
+        this.showtimeRepository = showtimeRepository;
+        this.showCreationService = showCreationService;
+    }
+
+    /** 이미 만들어진 회차 id, 없으면 null */
+    public Long lookup(String kopisId, LocalDateTime startAt) {
+        Key key = new Key(kopisId, startAt);
+        Long id = ids.get(key);
+        if (id != null) return id;
+
+        id = showtimeRepository.findFirstByKopisIdAndStartAt(kopisId, startAt).map(Showtime::getId).orElse(null);
+        if (id != null) ids.put(key, id);
+        return id;
+    }
+
+    /**
+     * (kopisId, startAt) 회차 id. 캐시/DB 에 없으면 일정 전체를 만들고,
+     * 그래도 없는 시각(일정에 없는 시각)은 유니크 키 upsert 로 한 건 만든다.
+     */
+    public Long ensure(String kopisId, LocalDateTime startAt) {
+        Long id = lookup(kopisId, startAt);
+        if (id != null) return id;
+
+        // 상세 페이지를 거치지 않아 아직 일정이 없는 공연
+        prepare(kopisId);
+        id = lookup(kopisId, startAt);
+        if (id != null) return id;
+
+        log.info("Showtime {} {} is not in the KOPIS schedule. Creating it on demand.", kopisId, startAt);
+        id = showCreationService.upsertShowtime(kopisId, startAt);
+        ids.put(new Key(kopisId, startAt), id);
+        return id;
+    }
+
+    /**
+     * 여러 (kopisId, startAt) 의 회차 id 를 한 번에 찾고, 없으면 만든다.
+     * 캐시 → IN 쿼리 한 번 → (없으면) 공연 일정 생성 → 일정 밖 시각 batch insert 순서로 진행한다.
+     * @return kopisId → (startAt → showtimeId)
+     */
+    public Map<String, Map<LocalDateTime, Long>> ensureAll(Map<String, ? extends Collection<LocalDateTime>> requested) {
+        Map<String, Map<LocalDateTime, Long>> result = new LinkedHashMap<>();
+        Map<String, Set<LocalDateTime>> missing = new LinkedHashMap<>();
+        requested.forEach((kopisId, startAts) -> {
+            for (LocalDateTime startAt : startAts) {
+                Long id = ids.get(new Key(kopisId, startAt));
+                if (id != null) {
+                    result.computeIfAbsent(kopisId, k -> new LinkedHashMap<>()).put(startAt, id);
+                } else {
+                    missing.computeIfAbsent(kopisId, k -> new HashSet<>()).add(startAt);
+                }
+            }
+        });
+        if (missing.isEmpty()) return result;
+
+        resolve(missing, result);
+        if (missing.isEmpty()) return result;
+
+        // 아직 일정이 만들어지지 않은 공연
+        for (String kopisId : missing.keySet()) prepare(kopisId);
+        resolve(missing, result);
+        if (missing.isEmpty()) return result;
+
+        // 일정(dtguidance)에 없는 시각
+        missing.forEach(showCreationService::addShowtimes);
+        resolve(missing, result);
+        return result;
+    }
+
+    // missing 중 DB 에 있는 회차를 result 로 옮긴다 (IN 쿼리 한 번)
+    private void resolve(Map<String, Set<LocalDateTime>> missing, Map<String, Map<LocalDateTime, Long>> result) {
+        Set<LocalDateTime> startAts = new HashSet<>();
+        missing.values().forEach(startAts::addAll);
+
+        for (Showtime st : showtimeRepository.findByKopisIdInAndStartAtIn(missing.keySet(), startAts)) {
+            Set<LocalDateTime> wanted = missing.get(st.getKopisId());
+            if (wanted != null && wanted.remove(st.getStartAt())) {
+                ids.put(new Key(st.getKopisId(), st.getStartAt()), st.getId());
+                result.computeIfAbsent(st.getKopisId(), k -> new LinkedHashMap<>()).put(st.getStartAt(), st.getId());
+            }
+        }
+        missing.values().removeIf(Set::isEmpty);
+    }
+
+    /**
+     * 공연 일정 전체를 만든다 (이미 만든 일정이면 KOPIS 상세 조회 + 비교만 하고 끝난다).
+     * 같은 공연을 이미 만드는 중이면 그 결과를 기다린다. 바로 돌아가면 호출한 쪽이 아직 없는 회차를 일정에 없는 시각으로 보고 따로 만든다.
+     */
+    public void prepare(String kopisId) {
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        CompletableFuture<Void> running = inFlight.putIfAbsent(kopisId, mine);
+        if (running != null) {
+            try {
+                running.join();
+            } catch (CompletionException e) {
+                // 먼저 시작한 쪽이 실패를 기록한다. 여기서는 찾을 수 있는 회차만 찾는다.
+                log.debug("Waited showtime materialization for {} failed: {}", kopisId, e.getCause().toString());
+            }
+            return;
+        }
+        try {
+            showCreationService.materializeShowtimes(kopisId);
+            mine.complete(null);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(kopisId, mine);
+        }
+    }
+
+    /** 공연 상세 조회 시 호출. 좌석 선택 전에 회차가 준비되도록 백그라운드에서 만든다. */
+    @Async("showtimeExecutor")
+    public void prepareAsync(String kopisId) {
+        try {
+            prepare(kopisId);
+        } catch (Exception e) {
+            log.warn("Showtime materialization failed for {}: {}", kopisId, e.getMessage());
+        }
+    }
+
+    /** 특정 날짜의 회차 목록 (시작 시각 순) */
+    public List<Showtime> showtimesOn(String kopisId, LocalDate date) {
+        List<Showtime> list = showtimeRepository.findByKopisIdAndStartAtBetweenOrderByStartAtAsc(
+                kopisId, date.atStartOfDay(), date.plusDays(1).atStartOfDay().minusNanos(1));
+        for (Showtime st : list) ids.put(new Key(kopisId, st.getStartAt()), st.getId());
+        return list;
+    }
+}
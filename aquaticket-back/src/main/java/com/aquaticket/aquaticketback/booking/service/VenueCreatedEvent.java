@@ -0,0 +1,4 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+/** 새 공연장이 처음 저장되었을 때 발행 (좌석 배치 생성용) */
+public record VenueCreatedEvent(Long venueId, Long performanceId) {}
@@ -0,0 +1,46 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 좌석 배치 템플릿. 구역(zone)마다 열 수, 열당 좌석 수, 가격 등급 순위를 가진다.
+ * gradeRank 는 가격 등급을 높은 가격 순으로 정렬했을 때의 인덱스 (0 = 가장 비싼 등급).
+ */
+public record VenueTemplate(List<Zone> zones) {
+
+    public record Zone(String name, int rows, int seatsPerRow, int gradeRank) {
+        public int seatCount() {
+            return rows * seatsPerRow;
+        }
+    }
+
+    public int totalSeats() {
+        int total = 0;
+        for (Zone z : zones) total += z.seatCount();
+        return total;
+    }
+
+    /**
+     * 프론트 zoneData.ts 와 같은 구성: Floor + R 구역(1~17) + S 구역(18~37)
+     * 가장 높은 가격 → Floor(스탠딩), 두 번째 → R, 세 번째 → S
+     */
+    public static VenueTemplate standard() {
+        List<Zone> zones = new ArrayList<>();
+        zones.add(new Zone("zone-floor", 10, 30, 0));
+        for (int i = 1; i <= 17; i++) zones.add(new Zone("zone-" + i, 10, 20, 1));
+        for (int i = 18; i <= 37; i++) zones.add(new Zone("zone-" + i, 12, 20, 2));
+        return new VenueTemplate(List.copyOf(zones));
+    }
+
+    /** 열 번호(0부터) → A, B, ..., Z, AA, AB ... */
+    public static String rowLabel(int index) {
+        StringBuilder sb = new StringBuilder();
+        int n = index;
+        do {
+            sb.append((char) ('A' + n % 26));
+            n = n / 26 - 1;
+        } while (n >= 0);
+        return sb.reverse().toString();
+    }
+}
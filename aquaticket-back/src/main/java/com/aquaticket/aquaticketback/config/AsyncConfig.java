@@ -0,0 +1,104 @@
+package com.aquaticket.aquaticketback.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 백그라운드 작업용 executor.
+ * spring.threads.virtual.enabled=true 이고 Java 21 이상이면 각 풀의 스레드를 가상 스레드로 만든다.
+ * 이때도 풀 크기/큐 크기/거절 정책은 그대로라서 동시 실행 수 제한(DB, KOPIS 부하)은 유지된다.
+ * (Java 17 에서는 설정이 켜져 있어도 플랫폼 스레드로 동작)
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    private final boolean virtualThreads;
+
+    public AsyncConfig(Environment environment) {
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    /** 좌석 배치 생성 전용. 한 번에 한 공연장씩 처리해서 DB 쓰기 부하를 제한한다. */
+    @Bean(name = "seatLayoutExecutor")
+    public Executor seatLayoutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("seat-layout-");
+        applyThreadMode(executor);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 공연 일정(회차) 미리 만들기. 상세 페이지 조회마다 요청이 들어오므로 큐가 차면 버린다.
+     * (버려진 공연은 좌석 선택 시 BookingService.ensureShowtime 에서 만든다)
+     */
+    @Bean(name = "showtimeExecutor")
+    public Executor showtimeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("showtime-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        applyThreadMode(executor);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 목록 화면 상세/가격 동시 조회 (PerformanceEnrichmentService).
+     * KOPIS bulkhead 와 같은 크기로 두고, 큐가 차면 거절해서 해당 항목은 목록 필드만 내려준다.
+     */
+    @Bean(name = "kopisFanoutExecutor")
+    public Executor kopisFanoutExecutor(@Value("${kopis.bulkhead.max-concurrent-calls:16}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 16);
+        executor.setThreadNamePrefix("kopis-fanout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        applyThreadMode(executor);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 비밀번호 해시(BCrypt) 전용. 일부러 느린 CPU 작업이라 코어 수만큼만 돌리고, 큐가 차면 바로 거절(503)해서
+     * 로그인이 몰려도 Tomcat 스레드가 전부 해시 대기로 묶이지 않게 한다. CPU 작업이므로 가상 스레드를 쓰지 않는다.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${security.password-hash.threads:0}") int threads,
+            @Value("${security.password-hash.queue-capacity:32}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private void applyThreadMode(ThreadPoolTaskExecutor executor) {
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(executor.getThreadNamePrefix()).getVirtualThreadFactory());
+        }
+    }
+}
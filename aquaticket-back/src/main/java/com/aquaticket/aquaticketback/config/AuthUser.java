@@ -0,0 +1,31 @@
+package com.aquaticket.aquaticketback.config;
+
+import com.aquaticket.aquaticketback.exception.UserNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * JwtAuthFilter 가 SecurityContext 에 넣는 인증 주체.
+ * id 는 토큰의 uid 클레임이다. uid 가 없는 예전 토큰이면 null (UserCache.idOf 로 찾는다).
+ * jti/expiresAt 은 이 요청의 액세스 토큰 정보로, 로그아웃/비밀번호 변경 시 토큰을 폐기할 때 쓴다.
+ * getName() 은 이메일이라 authentication.getName() 을 쓰던 코드는 그대로 동작한다.
+ */
+public record AuthUser(Long id, String email, String role, String jti, Instant expiresAt) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /** 현재 요청의 인증 주체. 인증되지 않았으면 UserNotFoundException(401) */
+    public static AuthUser current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthUser user) {
+            return user;
+        }
+        throw new UserNotFoundException("Not authenticated");
+    }
+}
@@ -0,0 +1,75 @@
+package com.aquaticket.aquaticketback.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate 2차 캐시/쿼리 캐시 영역(JCache, Caffeine 구현)을 크기/TTL 제한과 함께 미리 만든다.
+ * 공연장/공연/Show/회차/좌석은 한 번 만들어지면 거의 바뀌지 않으므로 예매 경로의 findById/지연 로딩이 DB 까지 가지 않는다.
+ * (Performance 만 가격/일정 updatedate 를 갱신하므로 NONSTRICT_READ_WRITE, 나머지는 READ_ONLY)
+ *
+ * 캐시 통계: hibernate.generate_statistics + hibernate-micrometer →
+ * /actuator/metrics/hibernate.second.level.cache.requests, hibernate.cache.query.requests
+ * 영역별 적중률은 GET /api/admin/booking/cache-stats
+ */
+@Configuration
+public class CatalogCacheConfig {
+
+    public static final String VENUE_REGION = "catalog.venue";
+    public static final String PERFORMANCE_REGION = "catalog.performance";
+    public static final String SHOW_REGION = "catalog.show";
+    public static final String SHOWTIME_REGION = "catalog.showtime";
+    public static final String SEAT_REGION = "catalog.seat";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${catalog.cache.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${catalog.cache.max-entries:10000}") long maxEntries,
+            @Value("${catalog.cache.showtime.max-entries:100000}") long showtimeMaxEntries,
+            @Value("${catalog.cache.seat.max-entries:200000}") long seatMaxEntries,
+            @Value("${catalog.cache.query.ttl-seconds:300}") long queryTtlSeconds,
+            @Value("${catalog.cache.query.max-entries:10000}") long queryMaxEntries) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("aquaticket-hibernate"), getClass().getClassLoader());
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        create(cacheManager, VENUE_REGION, maxEntries, ttl);
+        create(cacheManager, PERFORMANCE_REGION, maxEntries, ttl);
+        create(cacheManager, SHOW_REGION, maxEntries, ttl);
+        create(cacheManager, SHOWTIME_REGION, showtimeMaxEntries, ttl);
+        create(cacheManager, SEAT_REGION, seatMaxEntries, ttl);
+        // 쿼리 결과는 JDBC upsert 로 생긴 행을 모를 수 있어서 짧게 (KopisUpsertRepository 가 upsert 후 비운다)
+        create(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryMaxEntries, Duration.ofSeconds(queryTtlSeconds));
+        // 테이블별 마지막 변경 시각. 만료되면 쿼리 캐시가 오래된 결과를 돌려줄 수 있으므로 TTL 없이
+        create(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 1000, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void create(CacheManager cacheManager, String name, long maxEntries, Duration ttl) {
+        // 같은 JVM 에서 컨텍스트를 다시 띄우는 경우(테스트) 이미 있는 영역은 그대로
+        if (cacheManager.getCache(name) != null) return;
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(maxEntries));
+        if (ttl != null) config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate 캐시 항목은 불변이라 복사(직렬화)하지 않는다
+        config.setStoreByValue(false);
+        config.setStatisticsEnabled(true);
+        cacheManager.createCache(name, config);
+    }
+}
@@ -0,0 +1,73 @@
+package com.aquaticket.aquaticketback.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * primary(spring.datasource.*) + 읽기 전용 replica(datasource.replica.urls, 쉼표 구분) 구성.
+ * replica 가 없으면 primary 를 그대로 쓰고, 있으면 ReplicationRoutingDataSource 를 LazyConnectionDataSourceProxy 로 감싸서
+ * JPA/JdbcTemplate 이 쓰는 기본 DataSource 로 등록한다.
+ * 로컬에서는 MySQL 두 개(또는 H2 두 개)를 띄우고 urls 에 두 번째 주소를 넣으면 된다.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean
+    public ReplicationRoutingDataSource replicationRoutingDataSource(
+            HikariDataSource primaryDataSource, DataSourceProperties properties, ReadYourWritesTracker readYourWrites,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replica.urls:}") String urls,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replica.pool-size:10}") int poolSize,
+            @Value("${datasource.replica.connection-timeout-ms:1000}") long connectionTimeoutMs,
+            @Value("${datasource.replica.validation-timeout-sec:1}") int validationTimeoutSec) {
+        List<ReplicationRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : urls.split(",")) {
+            if (url.isBlank()) continue;
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource ds = new HikariDataSource();
+            ds.setPoolName(name);
+            ds.setJdbcUrl(url.trim());
+            ds.setUsername(username);
+            ds.setPassword(password);
+            if (properties.getDriverClassName() != null) ds.setDriverClassName(properties.getDriverClassName());
+            ds.setReadOnly(true);
+            ds.setMaximumPoolSize(poolSize);
+            // 죽은 replica 때문에 요청이 오래 기다리지 않도록 짧게 (실패하면 primary 로)
+            ds.setConnectionTimeout(connectionTimeoutMs);
+            // replica 가 떠 있지 않아도 애플리케이션은 뜨도록
+            ds.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicationRoutingDataSource.Replica(name, ds));
+        }
+        return new ReplicationRoutingDataSource(primaryDataSource, replicas, readYourWrites, validationTimeoutSec, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicationRoutingDataSource replicationRoutingDataSource) {
+        if (!replicationRoutingDataSource.hasReplicas()) {
+            return primaryDataSource;
+        }
+        return new LazyConnectionDataSourceProxy(replicationRoutingDataSource);
+    }
+}
@@ -1,10 +1,13 @@
 package com.aquaticket.aquaticketback.config;
 
+import com.aquaticket.aquaticketback.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -19,8 +22,10 @@ import java.util.List;
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
 
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationService revocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest req,
@@ -30,32 +35,37 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String header = req.getHeader("Authorization");
         String uri = req.getRequestURI();
 
-        System.out.println("[JWT Filter] Request: " + req.getMethod() + " " + uri);
-        System.out.println("[JWT Filter] Has Authorization header: " + (header != null));
+        log.debug("[JWT Filter] Request: {} {}", req.getMethod(), uri);
+        log.debug("[JWT Filter] Has Authorization header: {}", header != null);
 
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7).trim();
-            System.out.println("[JWT Filter] Token prefix: " + token.substring(0, Math.min(20, token.length())) + "...");
+            log.debug("[JWT Filter] Token prefix: {}...", token.substring(0, Math.min(20, token.length())));
 
             try {
-                io.jsonwebtoken.Jws<io.jsonwebtoken.Claims> claims = tokenProvider.validateToken(token);
-                String email = claims.getBody().getSubject();
-                String role  = claims.getBody().get("role", String.class);
+                io.jsonwebtoken.Claims claims = tokenProvider.validateToken(token);
+                String email = claims.getSubject();
+                String role  = claims.get("role", String.class);
+                Long userId  = JwtTokenProvider.getUserId(claims);
+                if (revocationService.isRevoked(claims.getId())) {
+                    throw new io.jsonwebtoken.JwtException("Token revoked");
+                }
 
-                System.out.println("[JWT Filter] Token validated successfully. Email: " + email + ", Role: " + role);
+                log.debug("[JWT Filter] Token validated successfully. Email: {}, Role: {}", email, role);
 
                 List<GrantedAuthority> auths = List.of(new SimpleGrantedAuthority("ROLE_" + role));
                 UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(email, null, auths);
+                        new UsernamePasswordAuthenticationToken(new AuthUser(userId, email, role, claims.getId(),
+                                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null), null, auths);
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
             } catch (Exception e) {
-                System.out.println("[JWT Filter] Token validation FAILED: " + e.getClass().getSimpleName() + " - " + e.getMessage());
+                log.debug("[JWT Filter] Token validation FAILED: {} - {}", e.getClass().getSimpleName(), e.getMessage());
                 req.setAttribute("jwtError", e.getMessage());
             }
         } else {
-            System.out.println("[JWT Filter] No valid Authorization header found");
+            log.debug("[JWT Filter] No valid Authorization header found");
         }
 
         chain.doFilter(req, res);
@@ -2,64 +2,153 @@ package com.aquaticket.aquaticketback.config;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 
+/**
+ * JWT 발급/검증.
+ * 검증이 끝난 토큰의 claims 는 토큰 SHA-256 다이제스트를 키로 만료 시각까지 캐시해서,
+ * 좌석 현황 폴링처럼 같은 토큰이 반복해서 들어올 때 서명 검증/파싱을 다시 하지 않는다.
+ * 캐시에 든 Claims 는 여러 요청이 같이 읽으므로 수정하면 안 된다.
+ */
 @Component
 public class JwtTokenProvider {
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    public static final String USER_ID_CLAIM = "uid";
+
+    private record Verified(Claims claims, long expiresAtMs) {}
 
     private final String secret;
     private final long   expirationMs;
+    private final int    cacheMaxEntries;
     private SecretKey key;
+    // 불변/스레드 안전. 한 번만 만든다
+    private JwtParser parser;
+
+    // 토큰 다이제스트 → 검증된 claims (LRU, 만료된 항목은 조회/삽입 시 제거)
+    private final Map<ByteBuffer, Verified> verified;
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration}") long expirationMs
+            @Value("${jwt.expiration}") long expirationMs,
+            @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries,
+            MeterRegistry meterRegistry
     ) {
         this.secret = secret;
         this.expirationMs = expirationMs;
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.verified = Collections.synchronizedMap(new LinkedHashMap<ByteBuffer, Verified>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Verified> eldest) {
+                return size() > JwtTokenProvider.this.cacheMaxEntries
+                        || eldest.getValue().expiresAtMs() <= System.currentTimeMillis();
+            }
+        });
+        this.cacheHits = Counter.builder("jwt.verify.cache").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("jwt.verify.cache").tag("result", "miss").register(meterRegistry);
     }
 
     @PostConstruct
     void init() {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
+    public long getExpirationMs() {
+        return expirationMs;
     }
 
     public String createToken(String email, String role) {
+        return createToken(null, email, role);
+    }
+
+    /** userId 는 uid 클레임으로 들어가서, 요청마다 이메일로 사용자를 찾지 않아도 된다. (null 이면 생략) */
+    public String createToken(Long userId, String email, String role) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expirationMs);
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
-                .addClaims(Map.of("role", role))
+                .addClaims(Map.of("role", role));
+        if (userId != null) builder.claim(USER_ID_CLAIM, userId);
+        return builder
                 .setIssuedAt(now)
                 .setExpiration(exp)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public Jws<Claims> validateToken(String token) {
+    /**
+     * 서명과 만료를 검증하고 claims 를 돌려준다. 잘못된 토큰이면 JwtException.
+     * 이미 검증한 토큰이면 만료 시각만 확인하고 캐시된 claims 를 돌려준다.
+     */
+    public Claims validateToken(String token) {
+        ByteBuffer digest = digest(token);
+        Verified v = verified.get(digest);
+        long now = System.currentTimeMillis();
+        if (v != null) {
+            if (v.expiresAtMs() > now) {
+                cacheHits.increment();
+                return v.claims();
+            }
+            verified.remove(digest);
+        }
+        cacheMisses.increment();
+
+        Claims claims;
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
-            System.out.println("[JWT] Invalid token: " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            log.debug("[JWT] Invalid token: {} - {}", e.getClass().getSimpleName(), e.getMessage());
             throw e;
         }
+        // 만료 시각이 없는 토큰은 캐시하지 않는다 (여기서 발급하는 토큰은 항상 exp 가 있다)
+        if (claims.getExpiration() != null) {
+            verified.put(digest, new Verified(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
     }
 
     public String getSubject(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return validateToken(token).getSubject();
+    }
+
+    /** uid 클레임, 없으면 null */
+    public static Long getUserId(Claims claims) {
+        Object uid = claims.get(USER_ID_CLAIM);
+        return (uid instanceof Number n) ? n.longValue() : null;
     }
 
     public String getRole(String token) {
-        Object r = Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().get("role");
+        Object r = validateToken(token).get("role");
         return (r == null) ? "USER" : r.toString();
     }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
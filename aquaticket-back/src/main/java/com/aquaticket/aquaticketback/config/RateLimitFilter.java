@@ -0,0 +1,228 @@
+package com.aquaticket.aquaticketback.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 경로별 토큰 버킷 요청 수 제한. JwtAuthFilter 바로 뒤에서 실행되어 컨트롤러(BCrypt, DB)까지 가기 전에 거절한다.
+ *
+ * - 로그인, 가입: IP 별 (크리덴셜 스터핑). 둘은 따로 센다
+ * - 예매 확정: 사용자 별, 비로그인이면 IP 별
+ * - 그 외 /api/**: 사용자 또는 IP 별 넉넉한 한도
+ *
+ * 버킷 상태는 CAS 로만 갱신한다. 일정 시간(ratelimit.idle-evict-ms) 쓰이지 않은 버킷은 주기적으로 지우고,
+ * 버킷 수가 ratelimit.max-buckets 에 닿으면 새 키는 정책별 공용 버킷을 같이 쓴다 (메모리 상한).
+ * 초과 시 429 + Retry-After(초). 클라이언트 IP 는 getRemoteAddr() 기준이다 (프록시 뒤라면 server.forward-headers-strategy 설정).
+ * StartupWarmup 의 내부 호출은 loopback + 시작할 때 만든 임의 키(WARMUP_HEADER)로만 건너뛰고, 워밍업이 끝나면 키를 없앤다.
+ * (loopback 만으로 건너뛰면 같은 호스트의 리버스 프록시를 거친 요청이 모두 제한 없이 들어온다)
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String WARMUP_HEADER = "X-Warmup-Key";
+
+    enum KeyBy { IP, PRINCIPAL }
+
+    record Policy(String name, String method, String pattern, KeyBy keyBy, long capacity, Duration refillPeriod) {
+        double refillPerNano() {
+            return (double) capacity / refillPeriod.toNanos();
+        }
+    }
+
+    /** tokens 와 마지막 갱신 시각을 한 번에 CAS 하기 위한 불변 상태 */
+    private record State(double tokens, long updatedNanos) {}
+
+    static final class Bucket {
+        private final long capacity;
+        private final double refillPerNano;
+        private final AtomicReference<State> state;
+        private volatile long lastUsedNanos;
+
+        Bucket(Policy policy, long now) {
+            this.capacity = policy.capacity();
+            this.refillPerNano = policy.refillPerNano();
+            this.state = new AtomicReference<>(new State(capacity, now));
+            this.lastUsedNanos = now;
+        }
+
+        /** 토큰 하나를 쓰면 0, 부족하면 다음 토큰까지 남은 나노초 */
+        long tryConsume(long now) {
+            lastUsedNanos = now;
+            while (true) {
+                State cur = state.get();
+                double tokens = Math.min(capacity, cur.tokens() + (now - cur.updatedNanos()) * refillPerNano);
+                if (tokens < 1.0) {
+                    return (long) Math.ceil((1.0 - tokens) / refillPerNano);
+                }
+                if (state.compareAndSet(cur, new State(tokens - 1.0, now))) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final boolean enabled;
+    private final List<Policy> policies;
+    private final int maxBuckets;
+    private final long idleEvictNanos;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    // 버킷 수가 상한에 닿았을 때 정책별로 같이 쓰는 버킷
+    private final Map<String, Bucket> overflow = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime());
+    // 워밍업 중에만 있는 키 (closeWarmup 이후 null)
+    private volatile String warmupKey;
+
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(@Value("${ratelimit.enabled:true}") boolean enabled,
+                           @Value("${ratelimit.max-buckets:100000}") int maxBuckets,
+                           @Value("${ratelimit.idle-evict-ms:600000}") long idleEvictMs,
+                           @Value("${ratelimit.login.capacity:10}") long loginCapacity,
+                           @Value("${ratelimit.login.refill-ms:60000}") long loginRefillMs,
+                           @Value("${ratelimit.register.capacity:10}") long registerCapacity,
+                           @Value("${ratelimit.register.refill-ms:60000}") long registerRefillMs,
+                           @Value("${ratelimit.confirm.capacity:5}") long confirmCapacity,
+                           @Value("${ratelimit.confirm.refill-ms:30000}") long confirmRefillMs,
+                           @Value("${ratelimit.api.capacity:200}") long apiCapacity,
+                           @Value("${ratelimit.api.refill-ms:10000}") long apiRefillMs,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxBuckets = maxBuckets;
+        this.idleEvictNanos = Duration.ofMillis(idleEvictMs).toNanos();
+        // 위에서부터 처음 맞는 정책 하나만 적용
+        this.policies = List.of(
+                new Policy("login", "POST", "/api/auth/login", KeyBy.IP, loginCapacity, Duration.ofMillis(loginRefillMs)),
+                new Policy("register", "POST", "/api/auth/register", KeyBy.IP, registerCapacity, Duration.ofMillis(registerRefillMs)),
+                new Policy("confirm", "POST", "/api/booking/confirm", KeyBy.PRINCIPAL, confirmCapacity, Duration.ofMillis(confirmRefillMs)),
+                new Policy("api", null, "/api/**", KeyBy.PRINCIPAL, apiCapacity, Duration.ofMillis(apiRefillMs)));
+        for (Policy p : policies) {
+            rejected.computeIfAbsent(p.name(), n -> Counter.builder("ratelimit.rejected").tag("policy", n).register(meterRegistry));
+        }
+        Gauge.builder("ratelimit.buckets", buckets, Map::size).register(meterRegistry);
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.warmupKey = Base64.getUrlEncoder().withoutPadding().encodeToString(key);
+    }
+
+    /** StartupWarmup 이 내부 호출에 WARMUP_HEADER 로 실어 보내는 키. 워밍업이 끝났으면 null */
+    public String warmupKey() {
+        return warmupKey;
+    }
+
+    /** 워밍업 종료: 이후로는 키가 있어도 제한한다 */
+    public void closeWarmup() {
+        warmupKey = null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equals(request.getMethod()) || isWarmup(request);
+    }
+
+    private boolean isWarmup(HttpServletRequest request) {
+        String key = warmupKey;
+        String sent = request.getHeader(WARMUP_HEADER);
+        if (key == null || sent == null || !isLoopback(request.getRemoteAddr())) return false;
+        return MessageDigest.isEqual(key.getBytes(StandardCharsets.US_ASCII), sent.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static boolean isLoopback(String addr) {
+        try {
+            // IP 리터럴만 오므로 DNS 조회는 없다
+            return addr != null && InetAddress.getByName(addr).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        Policy policy = match(req);
+        if (policy == null) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        long now = System.nanoTime();
+        sweepIfDue(now);
+        long waitNanos = bucketFor(policy, keyOf(policy, req), now).tryConsume(now);
+        if (waitNanos == 0) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        rejected.get(policy.name()).increment();
+        long retryAfterSec = Math.max(1, (long) Math.ceil(waitNanos / 1e9));
+        res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        res.setHeader("Retry-After", String.valueOf(retryAfterSec));
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        res.getWriter().write("{\"message\":\"Too many requests. Retry after " + retryAfterSec + "s.\"}");
+    }
+
+    private Policy match(HttpServletRequest req) {
+        String path = req.getRequestURI().substring(req.getContextPath().length());
+        for (Policy p : policies) {
+            if (p.method() != null && !p.method().equals(req.getMethod())) continue;
+            if (MATCHER.match(p.pattern(), path)) return p;
+        }
+        return null;
+    }
+
+    private static String keyOf(Policy policy, HttpServletRequest req) {
+        if (policy.keyBy() == KeyBy.PRINCIPAL) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof AuthUser user) {
+                return policy.name() + ":u:" + (user.id() != null ? user.id() : user.email());
+            }
+        }
+        return policy.name() + ":ip:" + req.getRemoteAddr();
+    }
+
+    private Bucket bucketFor(Policy policy, String key, long now) {
+        Bucket b = buckets.get(key);
+        if (b != null) return b;
+        if (buckets.size() >= maxBuckets) {
+            return overflow.computeIfAbsent(policy.name(), k -> new Bucket(policy, now));
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(policy, now));
+    }
+
+    // 한 스레드만 (idleEvict/10 마다) 오래 쓰이지 않은 버킷을 지운다
+    private void sweepIfDue(long now) {
+        long next = nextSweepNanos.get();
+        if (now - next < 0 || !nextSweepNanos.compareAndSet(next, now + idleEvictNanos / 10)) return;
+        buckets.values().removeIf(b -> now - b.lastUsedNanos > idleEvictNanos);
+    }
+}
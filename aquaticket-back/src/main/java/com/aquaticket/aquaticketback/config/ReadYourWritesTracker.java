@@ -0,0 +1,67 @@
+package com.aquaticket.aquaticketback.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사용자가 직접 쓴(예매 확정/취소) 직후 datasource.replica.read-your-writes-ms 동안은
+ * 그 사용자의 읽기 전용 트랜잭션도 primary 로 보낸다 (복제 지연 때문에 방금 한 예매가 안 보이는 일이 없도록).
+ * 키는 인증 주체 이름(이메일). 크기 제한이 있는 LRU 라 오래된 항목은 자연히 밀려난다.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final long windowMs;
+    private final Map<String, Long> lastWriteAt;
+
+    public ReadYourWritesTracker(@Value("${datasource.replica.read-your-writes-ms:5000}") long windowMs,
+                                 @Value("${datasource.replica.read-your-writes-max-entries:100000}") int maxEntries) {
+        this.windowMs = windowMs;
+        this.lastWriteAt = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /** 현재 사용자가 썼다고 기록한다. 트랜잭션 안이면 커밋된 뒤부터 창이 시작된다 */
+    public void markWrite(String principal) {
+        if (principal == null || windowMs <= 0) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lastWriteAt.put(principal, System.currentTimeMillis());
+                }
+            });
+        } else {
+            lastWriteAt.put(principal, System.currentTimeMillis());
+        }
+    }
+
+    public boolean mustReadPrimary(String principal) {
+        if (principal == null) return false;
+        Long at = lastWriteAt.get(principal);
+        if (at == null) return false;
+        if (System.currentTimeMillis() - at > windowMs) {
+            lastWriteAt.remove(principal);
+            return false;
+        }
+        return true;
+    }
+
+    /** 현재 요청의 인증 주체 기준. 비로그인이면 false */
+    public boolean currentMustReadPrimary() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof AuthUser user && mustReadPrimary(user.getName());
+    }
+}
@@ -0,0 +1,152 @@
+package com.aquaticket.aquaticketback.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 정상인 replica 로, 나머지는 primary 로 보낸다.
+ * 트랜잭션의 readOnly 여부는 커넥션을 실제로 꺼낼 때 알 수 있으므로 DataSourceConfig 에서
+ * LazyConnectionDataSourceProxy 로 감싸서 쓴다.
+ *
+ * - replica 는 round-robin. datasource.replica.health-check-ms 마다 Connection.isValid 로 확인하고,
+ *   커넥션을 얻다가 실패하면 바로 down 으로 표시한 뒤 primary 로 보낸다. 정상인 replica 가 없으면 모두 primary.
+ * - ReadYourWritesTracker 의 창 안에 있는 사용자는 읽기도 primary.
+ *
+ * 메트릭: datasource.routing{target}, datasource.replica.fallback, datasource.replica.healthy
+ */
+public class ReplicationRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ReplicationRoutingDataSource.class);
+
+    static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final int validationTimeoutSec;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter toPrimary;
+    private final Counter toReplica;
+    private final Counter fallback;
+
+    public ReplicationRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWritesTracker readYourWrites,
+                                        int validationTimeoutSec, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.validationTimeoutSec = Math.max(1, validationTimeoutSec);
+        this.toPrimary = Counter.builder("datasource.routing").tag("target", "primary").register(meterRegistry);
+        this.toReplica = Counter.builder("datasource.routing").tag("target", "replica").register(meterRegistry);
+        this.fallback = Counter.builder("datasource.replica.fallback").register(meterRegistry);
+        Gauge.builder("datasource.replica.healthy", this.replicas, rs -> rs.stream().filter(r -> r.healthy).count())
+                .register(meterRegistry);
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        checkReplicas();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            toPrimary.increment();
+            return primary.getConnection();
+        }
+        try {
+            Connection con = replica.dataSource.getConnection();
+            toReplica.increment();
+            return con;
+        } catch (SQLException e) {
+            markDown(replica, e);
+            fallback.increment();
+            toPrimary.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // 다른 계정으로 여는 경우는 라우팅하지 않는다
+        return primary.getConnection(username, password);
+    }
+
+    /** 이 커넥션을 받을 replica. primary 로 가야 하면 null */
+    private Replica route() {
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || readYourWrites.currentMustReadPrimary()) {
+            return null;
+        }
+        int n = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            Replica r = replicas.get((start + i) % n);
+            if (r.healthy) return r;
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-ms:5000}",
+            initialDelayString = "${datasource.replica.health-check-ms:5000}")
+    public void checkReplicas() {
+        for (Replica r : replicas) {
+            boolean ok;
+            try (Connection con = r.dataSource.getConnection()) {
+                ok = con.isValid(validationTimeoutSec);
+            } catch (SQLException e) {
+                ok = false;
+            }
+            if (ok && !r.healthy) {
+                log.info("Replica {} is back. Routing read-only transactions to it again", r.name);
+            } else if (!ok && r.healthy) {
+                log.warn("Replica {} failed health check. Falling back to primary", r.name);
+            }
+            r.healthy = ok;
+        }
+    }
+
+    private void markDown(Replica r, SQLException e) {
+        if (r.healthy) {
+            log.warn("Could not get connection from replica {}: {}. Falling back to primary until next health check",
+                    r.name, e.getMessage());
+        }
+        r.healthy = false;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica r : replicas) {
+            if (r.dataSource instanceof AutoCloseable c) c.close();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
 
     @Bean
@@ -39,10 +40,14 @@ public class SecurityConfig {
 
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                        .requestMatchers("/api/auth/register", "/api/auth/login").permitAll()
+                        .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh", "/api/auth/logout").permitAll()
                         .requestMatchers("/oauth2/**", "/login/**", "/login/oauth2/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/kopis/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/posters/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/booking/performances/*/showtimes").permitAll()
                         .requestMatchers("/api/booking/**").authenticated()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
 
@@ -55,7 +60,9 @@ public class SecurityConfig {
                 //     String errorMessage = (jwtError != null) ? jwtError.toString().replace("\"", "'") : "Unauthorized";
                 //     res.getWriter().write("{\"error\":\"" + errorMessage + "\"}");
                 // }))
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // 인증 주체를 알아야 사용자별 한도를 걸 수 있으므로 JWT 필터 다음
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,215 @@
+package com.aquaticket.aquaticketback.config;
+
+import com.aquaticket.aquaticketback.booking.domain.Showtime;
+import com.aquaticket.aquaticketback.booking.repository.ReservationSeatRepository;
+import com.aquaticket.aquaticketback.booking.repository.ShowtimeRepository;
+import com.aquaticket.aquaticketback.booking.service.PriceTierService;
+import com.aquaticket.aquaticketback.booking.service.SeatLayoutCache;
+import com.aquaticket.aquaticketback.kopis.KopisClient;
+import com.aquaticket.aquaticketback.kopis.KopisDetail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 배포 직후 워밍업.
+ * ApplicationRunner 는 SpringApplication 이 readiness 를 ACCEPTING_TRAFFIC 으로 바꾸기 전에 실행되므로,
+ * 여기가 끝날 때까지 /actuator/health/readiness 는 OUT_OF_SERVICE 이고 로드밸런서가 트래픽을 보내지 않는다.
+ *
+ * 1. 앞으로 N일 안에 시작하는 회차의 공연장 좌석 배치(SeatLayoutCache)와 예매 현황 쿼리를 미리 읽는다.
+ * 2. 해당 공연들의 KOPIS 상세/가격 등급과 메인 목록 응답을 KopisClient 캐시에 채운다.
+ * 3. 실제 HTTP 로 자주 쓰는 엔드포인트를 반복 호출해서 필터/직렬화/쿼리 경로가 JIT 컴파일되게 한다.
+ *    이 호출은 RateLimitFilter 의 워밍업 키를 실어 보내서 요청 수 제한(429)을 받지 않는다. 끝나면 키를 없앤다.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final DateTimeFormatter KOPIS_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final ShowtimeRepository showtimeRepository;
+    private final ReservationSeatRepository reservationSeatRepository;
+    private final SeatLayoutCache seatLayoutCache;
+    private final KopisClient kopisClient;
+    private final PriceTierService priceTierService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RateLimitFilter rateLimitFilter;
+    private final Environment environment;
+
+    private final boolean enabled;
+    private final int daysAhead;
+    private final int iterations;
+    private final long timeoutMs;
+
+    public StartupWarmup(ShowtimeRepository showtimeRepository, ReservationSeatRepository reservationSeatRepository,
+                         SeatLayoutCache seatLayoutCache, KopisClient kopisClient, PriceTierService priceTierService,
+                         JwtTokenProvider jwtTokenProvider, RateLimitFilter rateLimitFilter, Environment environment,
+                         @Value("${warmup.enabled:true}") boolean enabled,
+                         @Value("${warmup.days-ahead:7}") int daysAhead,
+                         @Value("${warmup.http-iterations:50}") int iterations,
+                         @Value("${warmup.timeout-ms:60000}") long timeoutMs) {
+        this.showtimeRepository = showtimeRepository;
+        this.reservationSeatRepository = reservationSeatRepository;
+        this.seatLayoutCache = seatLayoutCache;
+        this.kopisClient = kopisClient;
+        this.priceTierService = priceTierService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.rateLimitFilter = rateLimitFilter;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.daysAhead = daysAhead;
+        this.iterations = iterations;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            rateLimitFilter.closeWarmup();
+            log.info("Warmup disabled.");
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long deadline = started + timeoutMs;
+
+        List<Showtime> upcoming = List.of();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            upcoming = showtimeRepository.findUpcomingWithVenue(now, now.plusDays(daysAhead));
+        } catch (Exception e) {
+            log.warn("Warmup: failed to load upcoming showtimes: {}", e.getMessage());
+        }
+
+        preloadSeats(upcoming, deadline);
+        primeKopis(upcoming, deadline);
+        try {
+            exerciseEndpoints(upcoming, deadline);
+        } finally {
+            rateLimitFilter.closeWarmup();
+        }
+
+        log.info("Warmup finished in {} ms ({} upcoming showtimes)", System.currentTimeMillis() - started, upcoming.size());
+    }
+
+    /* =========================
+       1. 좌석 배치 / 예매 현황
+       ========================= */
+    private void preloadSeats(List<Showtime> upcoming, long deadline) {
+        Set<Long> venues = new LinkedHashSet<>();
+        int seats = 0;
+        for (Showtime st : upcoming) {
+            if (System.currentTimeMillis() > deadline) break;
+            try {
+                Long venueId = st.getShow().getPerformance().getVenue().getId();
+                if (venues.add(venueId)) {
+                    seats += seatLayoutCache.get(venueId).size();
+                }
+                reservationSeatRepository.findSeatIdsByShowtime(st.getId());
+            } catch (Exception e) {
+                log.warn("Warmup: seat preload failed for showtime {}: {}", st.getId(), e.getMessage());
+            }
+        }
+        log.info("Warmup: loaded {} seats for {} venues", seats, venues.size());
+    }
+
+    /* =========================
+       2. KOPIS 캐시
+       ========================= */
+    private void primeKopis(List<Showtime> upcoming, long deadline) {
+        Set<String> kopisIds = new LinkedHashSet<>();
+        for (Showtime st : upcoming) kopisIds.add(st.getKopisId());
+
+        int primed = 0;
+        for (String kopisId : kopisIds) {
+            if (System.currentTimeMillis() > deadline) break;
+            try {
+                KopisDetail detail = kopisClient.fetchDetail(kopisId);
+                priceTierService.tiersFor(detail);
+                primed++;
+            } catch (Exception e) {
+                log.warn("Warmup: KOPIS detail failed for {}: {}", kopisId, e.getMessage());
+            }
+        }
+
+        // 메인 목록(PerformanceList.tsx 와 같은 조건: 3개월 전 ~ 1년 후, 50개)
+        try {
+            LocalDate today = LocalDate.now();
+            kopisClient.fetchPerformances(today.minusMonths(3).format(KOPIS_DATE), today.plusYears(1).format(KOPIS_DATE),
+                    "1", "50", null);
+        } catch (Exception e) {
+            log.warn("Warmup: KOPIS list failed: {}", e.getMessage());
+        }
+        log.info("Warmup: primed KOPIS cache for {} performances", primed);
+    }
+
+    /* =========================
+       3. 엔드포인트 JIT 워밍업
+       ========================= */
+    private void exerciseEndpoints(List<Showtime> upcoming, long deadline) {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null || iterations <= 0) return;
+
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(1000);
+        factory.setReadTimeout(5000);
+        RestTemplate rt = new RestTemplate(factory);
+
+        String base = "http://localhost:" + port;
+        LocalDate today = LocalDate.now();
+        List<String> publicUrls = new ArrayList<>();
+        publicUrls.add(base + "/api/kopis/pblprfr/enriched?stdate=" + today.minusMonths(3).format(KOPIS_DATE)
+                + "&eddate=" + today.plusYears(1).format(KOPIS_DATE) + "&cpage=1&rows=50");
+        List<String> authUrls = new ArrayList<>();
+        for (Showtime st : upcoming.subList(0, Math.min(upcoming.size(), 5))) {
+            publicUrls.add(base + "/api/kopis/prfprice/" + st.getKopisId());
+            authUrls.add(base + "/api/booking/showtimes/" + st.getId() + "/availability");
+        }
+
+        String warmupKey = rateLimitFilter.warmupKey();
+        HttpHeaders publicHeaders = new HttpHeaders();
+        if (warmupKey != null) publicHeaders.set(RateLimitFilter.WARMUP_HEADER, warmupKey);
+        HttpEntity<Void> anonymous = new HttpEntity<>(publicHeaders);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(publicHeaders);
+        headers.setBearerAuth(jwtTokenProvider.createToken("warmup@aquaticket.local", "USER"));
+        HttpEntity<Void> authed = new HttpEntity<>(headers);
+
+        int calls = 0;
+        for (int i = 0; i < iterations && System.currentTimeMillis() < deadline; i++) {
+            for (String url : publicUrls) {
+                calls += call(() -> rt.exchange(url, HttpMethod.GET, anonymous, String.class));
+            }
+            for (String url : authUrls) {
+                calls += call(() -> rt.exchange(url, HttpMethod.GET, authed, String.class));
+            }
+        }
+        log.info("Warmup: {} internal HTTP calls", calls);
+    }
+
+    private int call(Runnable request) {
+        try {
+            request.run();
+            return 1;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
@@ -4,6 +4,7 @@ package com.aquaticket.aquaticketback.config.oauth;
 import com.aquaticket.aquaticketback.config.JwtTokenProvider;
 import com.aquaticket.aquaticketback.domain.User;
 import com.aquaticket.aquaticketback.repository.UserRepository;
+import com.aquaticket.aquaticketback.service.RefreshTokenService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -20,13 +21,15 @@ public class OAuth2SuccessHandler implements org.springframework.security.web.au
 
     private final JwtTokenProvider jwt;
     private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
 
     // 프론트 콜백 페이지 (반드시 프론트 라우터에 존재)
     private static final String FRONT_CALLBACK = "http://localhost:5173/login/callback";
 
-    public OAuth2SuccessHandler(JwtTokenProvider jwt, UserRepository userRepository) {
+    public OAuth2SuccessHandler(JwtTokenProvider jwt, UserRepository userRepository, RefreshTokenService refreshTokenService) {
         this.jwt = jwt;
         this.userRepository = userRepository;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @Override
@@ -49,11 +52,12 @@ public class OAuth2SuccessHandler implements org.springframework.security.web.au
         });
 
         // JWT 발급 (메서드명은 프로젝트에 맞게 변경: createToken / generateToken 등)
-        String token = jwt.createToken(user.getEmail(), user.getRole());
+        String token = jwt.createToken(user.getId(), user.getEmail(), user.getRole());
 
         // 토큰 URL 인코딩
         String q = URLEncoder.encode(token, StandardCharsets.UTF_8);
-        res.sendRedirect(FRONT_CALLBACK + "?token=" + q);
+        String r = URLEncoder.encode(refreshTokenService.issue(user.getId()), StandardCharsets.UTF_8);
+        res.sendRedirect(FRONT_CALLBACK + "?token=" + q + "&refreshToken=" + r);
     }
 
     private String extractEmail(OAuth2User user) {
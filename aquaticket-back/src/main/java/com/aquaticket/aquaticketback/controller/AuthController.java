@@ -1,13 +1,18 @@
 package com.aquaticket.aquaticketback.controller;
 
+import com.aquaticket.aquaticketback.config.AuthUser;
 import com.aquaticket.aquaticketback.config.JwtTokenProvider;
 import com.aquaticket.aquaticketback.dto.LoginRequest;
+import com.aquaticket.aquaticketback.dto.RefreshRequest;
 import com.aquaticket.aquaticketback.dto.RegisterRequest;
 import com.aquaticket.aquaticketback.domain.User;
+import com.aquaticket.aquaticketback.exception.UserNotFoundException;
 import com.aquaticket.aquaticketback.repository.UserRepository;
+import com.aquaticket.aquaticketback.service.PasswordHashingService;
+import com.aquaticket.aquaticketback.service.RefreshTokenService;
+import com.aquaticket.aquaticketback.service.UserCache;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -17,13 +22,18 @@ import java.util.Map;
 public class AuthController {
 
     private final UserRepository users;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService encoder;
     private final JwtTokenProvider jwt;
+    private final UserCache userCache;
+    private final RefreshTokenService refreshTokens;
 
-    public AuthController(UserRepository users, PasswordEncoder encoder, JwtTokenProvider jwt) {
+    public AuthController(UserRepository users, PasswordHashingService encoder, JwtTokenProvider jwt,
+                          UserCache userCache, RefreshTokenService refreshTokens) {
         this.users = users;
         this.encoder = encoder;
         this.jwt = jwt;
+        this.userCache = userCache;
+        this.refreshTokens = refreshTokens;
     }
 
     @PostMapping("/register")
@@ -37,13 +47,9 @@ public class AuthController {
         u.setPasswordHash(encoder.encode(req.getPassword()));
         u.setRole("USER");
         users.save(u);
+        userCache.put(u);
 
-        String token = jwt.createToken(u.getEmail(), u.getRole());
-        return ResponseEntity.ok(Map.of(
-                "accessToken", token,
-                "tokenType", "Bearer",
-                "profile", Map.of("email", u.getEmail(), "name", u.getName(), "role", u.getRole())
-        ));
+        return ResponseEntity.ok(tokenResponse(u));
     }
 
     @PostMapping("/login")
@@ -52,26 +58,62 @@ public class AuthController {
         if (u == null || u.getPasswordHash() == null || !encoder.matches(req.getPassword(), u.getPasswordHash())) {
             return ResponseEntity.status(401).body("이메일/비밀번호가 올바르지 않습니다.");
         }
-        String token = jwt.createToken(u.getEmail(), u.getRole());
+        // BCrypt cost 를 올린 뒤 처음 로그인하면 새 cost 로 다시 저장
+        if (encoder.needsRehash(u.getPasswordHash())) {
+            u.setPasswordHash(encoder.encode(req.getPassword()));
+            users.save(u);
+        }
+        userCache.put(u);
+        return ResponseEntity.ok(tokenResponse(u));
+    }
+
+    /** 리프레시 토큰으로 새 액세스/리프레시 토큰 발급 (rotation). 쓴 리프레시 토큰은 다시 쓸 수 없다. */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody @Valid RefreshRequest req) {
+        RefreshTokenService.TokenPair pair = refreshTokens.rotate(req.getRefreshToken());
         return ResponseEntity.ok(Map.of(
-                "accessToken", token,
+                "accessToken", pair.accessToken(),
+                "refreshToken", pair.refreshToken(),
                 "tokenType", "Bearer",
-                "profile", Map.of("email", u.getEmail(), "name", u.getName(), "role", u.getRole())
+                "expiresIn", jwt.getExpirationMs() / 1000
         ));
     }
 
+    /** 현재 액세스 토큰과 리프레시 토큰(family) 폐기 */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshRequest req,
+                                    org.springframework.security.core.Authentication authentication) {
+        AuthUser principal = (authentication != null && authentication.getPrincipal() instanceof AuthUser p) ? p : null;
+        refreshTokens.logout(principal, req != null ? req.getRefreshToken() : null);
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/me")
     public ResponseEntity<?> me(org.springframework.security.core.Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated() || !(authentication.getPrincipal() instanceof String)) {
+        if (authentication == null || !authentication.isAuthenticated() || !(authentication.getPrincipal() instanceof AuthUser principal)) {
             return ResponseEntity.ok(Map.of("authenticated", false));
         }
-        String email = (String) authentication.getPrincipal();
-        User u = users.findByEmail(email).orElse(null);
+        UserCache.Profile u;
+        try {
+            u = userCache.get(userCache.idOf(principal));
+        } catch (UserNotFoundException e) {
+            u = null;
+        }
         return ResponseEntity.ok(Map.of(
                 "authenticated", true,
-                "email", email,
-                "name", u != null ? u.getName() : "",
-                "role", u != null ? u.getRole() : "USER"
+                "email", principal.email(),
+                "name", u != null ? u.name() : "",
+                "role", u != null ? u.role() : "USER"
         ));
     }
+
+    private Map<String, Object> tokenResponse(User u) {
+        return Map.of(
+                "accessToken", jwt.createToken(u.getId(), u.getEmail(), u.getRole()),
+                "refreshToken", refreshTokens.issue(u.getId()),
+                "tokenType", "Bearer",
+                "expiresIn", jwt.getExpirationMs() / 1000,
+                "profile", Map.of("email", u.getEmail(), "name", u.getName(), "role", u.getRole())
+        );
+    }
 }
@@ -0,0 +1,86 @@
+package com.aquaticket.aquaticketback.controller;
+
+import com.aquaticket.aquaticketback.service.PosterCacheService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 포스터/소개 이미지 프록시.
+ * 예: GET /api/posters?url=http://www.kopis.or.kr/upload/pfmPoster/PF_xxx.gif&size=thumb
+ */
+@RestController
+@RequestMapping("/api/posters")
+public class PosterProxyController {
+    private static final Logger log = LoggerFactory.getLogger(PosterProxyController.class);
+
+    // 내용 기반 파일명이라 바뀌지 않으므로 1년 + immutable
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final PosterCacheService posterCacheService;
+
+    public PosterProxyController(PosterCacheService posterCacheService) {
+        this.posterCacheService = posterCacheService;
+    }
+
+    @GetMapping
+    public void getPoster(@RequestParam String url,
+                          @RequestParam(defaultValue = "original") String size,
+                          HttpServletRequest req,
+                          HttpServletResponse res) throws IOException {
+        PosterCacheService.CachedPoster poster;
+        try {
+            poster = posterCacheService.get(url, PosterCacheService.Size.from(size));
+        } catch (IllegalArgumentException e) {
+            res.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } catch (Exception e) {
+            // 캐시/다운로드 실패 시에는 원본으로 넘겨서 화면이 깨지지 않게 한다
+            log.warn("Poster cache failed for {}: {}", url, e.getMessage());
+            res.sendRedirect(url);
+            return;
+        }
+
+        res.setHeader(HttpHeaders.ETAG, poster.etag());
+        res.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+
+        String ifNoneMatch = req.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(poster.etag())) {
+            res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        res.setContentType(poster.contentType().toString());
+        res.setContentLengthLong(poster.length());
+
+        // Tomcat NIO 커넥터가 sendfile 을 지원하면 커널이 파일을 바로 소켓으로 보낸다 (zero-copy)
+        if (Boolean.TRUE.equals(req.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            req.setAttribute("org.apache.tomcat.sendfile.filename", poster.file().toAbsolutePath().toString());
+            req.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+            req.setAttribute("org.apache.tomcat.sendfile.end", poster.length());
+            return;
+        }
+
+        try (FileChannel ch = FileChannel.open(poster.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(res.getOutputStream());
+            long pos = 0;
+            while (pos < poster.length()) {
+                long n = ch.transferTo(pos, poster.length() - pos, out);
+                if (n <= 0) break;
+                pos += n;
+            }
+        }
+    }
+}
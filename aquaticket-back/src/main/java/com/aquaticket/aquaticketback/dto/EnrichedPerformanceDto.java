@@ -0,0 +1,35 @@
+package com.aquaticket.aquaticketback.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/** 목록 항목 + 상세 일부 + 가격 등급 (/api/kopis/pblprfr/enriched) */
+@Getter
+@Builder
+public class EnrichedPerformanceDto {
+    // 목록(pblprfr) 필드
+    private String mt20id;
+    private String prfnm;
+    private String prfpdfrom;
+    private String prfpdto;
+    private String fcltynm;
+    private String poster;
+    private String genrenm;
+    private String prfstate;
+    private String area;
+    private String openrun;
+
+    // 상세(pblprfr/{id}) 필드. enriched 가 false 면 비어 있다
+    private String prfcast;
+    private String prfruntime;
+    private String prfage;
+    private String dtguidance;
+    private List<PriceLineDto> prices;
+    private Integer minPrice;
+    private Integer maxPrice;
+
+    // 마감 시간 안에 상세/가격을 채웠는지
+    private boolean enriched;
+}
@@ -0,0 +1,12 @@
+package com.aquaticket.aquaticketback.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PriceLineDto {
+    private String grade; // 등급(예: R석, 전석)
+    private String seat;  // 좌석 구분 없으면 "-"
+    private String price; // 항상 "##,###원" 또는 "lo~hi원"
+}
@@ -0,0 +1,11 @@
+package com.aquaticket.aquaticketback.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+public class RefreshRequest {
+    @NotBlank
+    private String refreshToken;
+}
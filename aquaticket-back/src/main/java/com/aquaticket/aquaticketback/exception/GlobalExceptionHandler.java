@@ -1,6 +1,7 @@
 package com.aquaticket.aquaticketback.exception;
 
 import com.aquaticket.aquaticketback.booking.exception.BookingNotFoundException;
+import com.aquaticket.aquaticketback.booking.exception.ExportBusyException;
 import com.aquaticket.aquaticketback.booking.exception.InvalidShowDataException;
 import com.aquaticket.aquaticketback.booking.exception.SeatAlreadyBookedException;
 import com.aquaticket.aquaticketback.booking.exception.SeatNotFoundException;
@@ -68,6 +69,30 @@ public class GlobalExceptionHandler {
         return Map.of("message", ex.getMessage());
     }
 
+    @ExceptionHandler(KopisUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public Map<String, String> handleKopisUnavailableException(KopisUnavailableException ex) {
+        log.warn("Handling KopisUnavailableException: {}. Responding with 503.", ex.getMessage());
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public Map<String, String> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        log.warn("Handling PasswordHashingBusyException: {}. Responding with 503.", ex.getMessage());
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(ExportBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public Map<String, String> handleExportBusyException(ExportBusyException ex) {
+        log.warn("Handling ExportBusyException: {}. Responding with 503.", ex.getMessage());
+        return Map.of("message", ex.getMessage());
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     @ResponseStatus(HttpStatus.FORBIDDEN)
     @ResponseBody
@@ -0,0 +1,8 @@
+package com.aquaticket.aquaticketback.exception;
+
+/** KOPIS 이미지가 poster.max-download-bytes 보다 크다 */
+public class ImageTooLargeException extends RuntimeException {
+    public ImageTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.aquaticket.aquaticketback.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class KopisUnavailableException extends RuntimeException {
+    public KopisUnavailableException(String message) {
+        super(message);
+    }
+
+    public KopisUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
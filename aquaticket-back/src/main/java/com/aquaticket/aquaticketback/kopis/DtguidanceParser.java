@@ -0,0 +1,104 @@
+package com.aquaticket.aquaticketback.kopis;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * KOPIS dtguidance(공연시간 안내) 문자열을 요일별 시작 시각으로 파싱하고, 공연 기간에 맞춰 실제 회차 일시로 펼친다.
+ * 예: "화요일 ~ 금요일(20:00), 토요일(15:00,19:00)", "토요일 ~ 일요일(14:00,18:00), HOL(14:00)"
+ *
+ * HOL(공휴일)은 공휴일 달력이 없으므로 무시한다. 알아볼 수 없는 구간도 건너뛴다.
+ */
+public final class DtguidanceParser {
+
+    // "요일 지정(시각,시각)" 한 구간
+    private static final Pattern SEGMENT = Pattern.compile("([^()]*)\\(([^)]*)\\)");
+    // "화요일" 또는 "화요일 ~ 금요일"
+    private static final Pattern DAY_RANGE = Pattern.compile("([월화수목금토일])요일(?:\\s*~\\s*([월화수목금토일])요일)?");
+    private static final Pattern TIME = Pattern.compile("(\\d{1,2}):(\\d{2})");
+
+    private static final String KOREAN_DAYS = "월화수목금토일";
+
+    private DtguidanceParser() {
+    }
+
+    /** 요일 → 시작 시각(오름차순). 파싱할 수 없으면 빈 맵 */
+    public static Map<DayOfWeek, List<LocalTime>> parse(String dtguidance) {
+        Map<DayOfWeek, TreeSet<LocalTime>> byDay = new EnumMap<>(DayOfWeek.class);
+        if (dtguidance == null || dtguidance.isBlank()) return Map.of();
+
+        Matcher seg = SEGMENT.matcher(dtguidance);
+        while (seg.find()) {
+            List<LocalTime> times = parseTimes(seg.group(2));
+            if (times.isEmpty()) continue;
+
+            Matcher days = DAY_RANGE.matcher(seg.group(1));
+            while (days.find()) {
+                DayOfWeek from = dayOf(days.group(1).charAt(0));
+                DayOfWeek to = days.group(2) != null ? dayOf(days.group(2).charAt(0)) : from;
+                // "금요일 ~ 월요일" 처럼 주를 넘어가는 범위도 허용
+                for (DayOfWeek d = from; ; d = d.plus(1)) {
+                    byDay.computeIfAbsent(d, k -> new TreeSet<>()).addAll(times);
+                    if (d == to) break;
+                }
+            }
+        }
+
+        Map<DayOfWeek, List<LocalTime>> out = new EnumMap<>(DayOfWeek.class);
+        byDay.forEach((d, t) -> out.put(d, List.copyOf(t)));
+        return out;
+    }
+
+    /**
+     * 공연 기간 [from, to] 안의 모든 회차 일시(오름차순).
+     * from/to 가 null 이거나 일정이 파싱되지 않으면 빈 목록.
+     */
+    public static List<LocalDateTime> expand(String dtguidance, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) return List.of();
+        Map<DayOfWeek, List<LocalTime>> schedule = parse(dtguidance);
+        if (schedule.isEmpty()) return List.of();
+
+        List<LocalDateTime> out = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            List<LocalTime> times = schedule.get(day.getDayOfWeek());
+            if (times == null) continue;
+            for (LocalTime t : times) out.add(day.atTime(t));
+        }
+        return out;
+    }
+
+    /** KOPIS 날짜("2025.10.01") → LocalDate, 형식이 다르면 null */
+    public static LocalDate parseDate(String kopisDate) {
+        if (kopisDate == null || kopisDate.isBlank()) return null;
+        try {
+            return LocalDate.parse(kopisDate.trim().replace('.', '-'));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static List<LocalTime> parseTimes(String s) {
+        List<LocalTime> times = new ArrayList<>(4);
+        Matcher m = TIME.matcher(s);
+        while (m.find()) {
+            int h = Integer.parseInt(m.group(1));
+            int min = Integer.parseInt(m.group(2));
+            if (h < 24 && min < 60) times.add(LocalTime.of(h, min));
+        }
+        return times;
+    }
+
+    private static DayOfWeek dayOf(char c) {
+        return DayOfWeek.of(KOREAN_DAYS.indexOf(c) + 1);
+    }
+}
@@ -0,0 +1,285 @@
+package com.aquaticket.aquaticketback.kopis;
+
+import com.aquaticket.aquaticketback.exception.ImageTooLargeException;
+import com.aquaticket.aquaticketback.exception.KopisUnavailableException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * KOPIS OpenAPI 호출을 한곳에 모은 클라이언트.
+ * - bulkhead: 동시에 KOPIS 로 나가는 호출 수 제한 (Tomcat 스레드가 모두 KOPIS 대기에 묶이지 않도록)
+ * - circuit breaker: 실패율/느린 호출 비율이 높으면 일정 시간 바로 실패
+ * - 성공한 응답은 kopis.cache.ttl-ms 동안 그대로 재사용하고, 실패/차단 시에는 기간과 상관없이 마지막 응답으로 대체
+ * - 같은 요청이 동시에 들어오면 KOPIS 는 한 번만 호출하고 나머지는 그 결과를 기다린다
+ * - 포스터 이미지(fetchImage)도 같은 타임아웃/bulkhead/circuit breaker 를 거친다 (캐시는 PosterCacheService 가 디스크에)
+ */
+@Component
+public class KopisClient {
+    private static final Logger log = LoggerFactory.getLogger(KopisClient.class);
+
+    private static final String KOPIS_API_BASE_URL = "http://www.kopis.or.kr/openApi/restful";
+    private static final int LAST_KNOWN_MAX_ENTRIES = 2000;
+
+    private final String serviceKey;
+    private final RestTemplate restTemplate;
+    private final XmlMapper xmlMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    private final long cacheTtlMs;
+
+    private record Cached(Object value, long fetchedAt) {}
+
+    // 요청 키 → 마지막 성공 응답 (LRU)
+    private final Map<String, Cached> lastKnown = Collections.synchronizedMap(
+            new LinkedHashMap<String, Cached>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                    return size() > LAST_KNOWN_MAX_ENTRIES;
+                }
+            });
+
+    // 요청 키 → 진행 중인 KOPIS 호출
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long coalesceWaitMs;
+
+    private final Counter cacheHits;
+    private final Counter coalesced;
+    private final Counter fallbackCached;
+    private final Counter fallbackNone;
+
+    public KopisClient(@Value("${kopis.service-key}") String serviceKey,
+                       @Value("${kopis.http.connect-timeout-ms:2000}") int connectTimeoutMs,
+                       @Value("${kopis.http.read-timeout-ms:5000}") int readTimeoutMs,
+                       @Value("${kopis.bulkhead.max-concurrent-calls:16}") int maxConcurrentCalls,
+                       @Value("${kopis.bulkhead.max-wait-ms:100}") long maxWaitMs,
+                       @Value("${kopis.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                       @Value("${kopis.circuit-breaker.slow-call-threshold-ms:2000}") long slowCallThresholdMs,
+                       @Value("${kopis.circuit-breaker.open-duration-ms:30000}") long openDurationMs,
+                       @Value("${kopis.cache.ttl-ms:300000}") long cacheTtlMs,
+                       MeterRegistry meterRegistry) {
+        this.serviceKey = serviceKey;
+        this.cacheTtlMs = cacheTtlMs;
+        // 먼저 나간 호출이 끝날 수 있는 최대 시간
+        this.coalesceWaitMs = maxWaitMs + connectTimeoutMs + readTimeoutMs;
+
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(connectTimeoutMs);
+        factory.setReadTimeout(readTimeoutMs);
+        this.restTemplate = new RestTemplate(factory);
+
+        this.xmlMapper = new XmlMapper();
+        this.xmlMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        CircuitBreakerConfig cbConfig = CircuitBreakerConfig.custom()
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallThresholdMs))
+                .waitDurationInOpenState(Duration.ofMillis(openDurationMs))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                // 너무 큰 이미지는 KOPIS 장애가 아니다
+                .ignoreExceptions(ImageTooLargeException.class)
+                .build();
+        CircuitBreakerRegistry cbRegistry = CircuitBreakerRegistry.of(cbConfig);
+        this.circuitBreaker = cbRegistry.circuitBreaker("kopis");
+        this.circuitBreaker.getEventPublisher()
+                .onStateTransition(e -> log.warn("KOPIS circuit breaker: {}", e.getStateTransition()));
+
+        BulkheadConfig bhConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+                .build();
+        BulkheadRegistry bhRegistry = BulkheadRegistry.of(bhConfig);
+        this.bulkhead = bhRegistry.bulkhead("kopis");
+
+        // resilience4j_circuitbreaker_state, resilience4j_bulkhead_available_concurrent_calls 등
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(cbRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bhRegistry).bindTo(meterRegistry);
+        this.cacheHits = Counter.builder("kopis.cache.hits").register(meterRegistry);
+        this.coalesced = Counter.builder("kopis.coalesced").register(meterRegistry);
+        this.fallbackCached = Counter.builder("kopis.fallback").tag("result", "cached").register(meterRegistry);
+        this.fallbackNone = Counter.builder("kopis.fallback").tag("result", "none").register(meterRegistry);
+    }
+
+    /** 공연 목록 (pblprfr) */
+    public List<KopisItem> fetchPerformances(String stdate, String eddate, String cpage, String rows, String shprfnm) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(KOPIS_API_BASE_URL + "/pblprfr")
+                .queryParam("service", serviceKey)
+                .queryParam("stdate", stdate)
+                .queryParam("eddate", eddate)
+                .queryParam("cpage", cpage)
+                .queryParam("rows", rows);
+        if (shprfnm != null && !shprfnm.isBlank()) {
+            builder.queryParam("shprfnm", shprfnm);
+        }
+        String url = builder.build().toUriString();
+        String key = "list:" + stdate + ":" + eddate + ":" + cpage + ":" + rows + ":" + (shprfnm == null ? "" : shprfnm);
+
+        return execute(key, () -> {
+            KopisListEnvelope env = xmlMapper.readValue(get(url), KopisListEnvelope.class);
+            List<KopisItem> list = (env != null) ? env.getDb() : null;
+            return list == null ? List.<KopisItem>of() : List.copyOf(list);
+        });
+    }
+
+    /** 공연 상세 (pblprfr/{mt20id}). KOPIS 에 없으면 null */
+    public KopisDetail fetchDetail(String mt20id) {
+        String url = UriComponentsBuilder.fromUriString(KOPIS_API_BASE_URL + "/pblprfr/" + mt20id)
+                .queryParam("service", serviceKey)
+                .build().toUriString();
+
+        return execute("detail:" + mt20id, () -> {
+            KopisDetailEnvelope env = xmlMapper.readValue(get(url), KopisDetailEnvelope.class);
+            return (env != null && env.getDb() != null && !env.getDb().isEmpty()) ? env.getDb().get(0) : null;
+        });
+    }
+
+    /**
+     * 포스터/소개 이미지 원본. Content-Length 가 maxBytes 를 넘으면 본문을 읽지 않고, 없으면 maxBytes 까지만 읽는다.
+     * 대체 응답은 없다: 차단/실패 시 KopisUnavailableException, 너무 크면 ImageTooLargeException
+     */
+    public byte[] fetchImage(String url, int maxBytes) {
+        Supplier<byte[]> supplier = () -> restTemplate.execute(url, HttpMethod.GET, null, response -> {
+            long declared = response.getHeaders().getContentLength();
+            if (declared > maxBytes) {
+                throw new ImageTooLargeException("Image of " + declared + " bytes exceeds " + maxBytes + ": " + url);
+            }
+            try (InputStream in = response.getBody()) {
+                byte[] bytes = in.readNBytes(maxBytes + 1);
+                if (bytes.length > maxBytes) {
+                    throw new ImageTooLargeException("Image exceeds " + maxBytes + " bytes: " + url);
+                }
+                return bytes;
+            }
+        });
+        try {
+            return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, supplier)).get();
+        } catch (ImageTooLargeException | KopisUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new KopisUnavailableException("KOPIS image could not be fetched: " + e.getMessage(), e);
+        }
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private byte[] get(String url) {
+        return restTemplate.getForObject(url, byte[].class);
+    }
+
+    @FunctionalInterface
+    private interface KopisCall<T> {
+        T call() throws Exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T execute(String key, KopisCall<T> call) {
+        Cached cached = lastKnown.get(key);
+        if (cached != null && System.currentTimeMillis() - cached.fetchedAt() < cacheTtlMs) {
+            cacheHits.increment();
+            return (T) cached.value();
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced.increment();
+            return awaitLeader(key, leader, cached);
+        }
+
+        try {
+            T result = callThrough(key, call, cached);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T callThrough(String key, KopisCall<T> call, Cached cached) {
+        Supplier<T> supplier = () -> {
+            try {
+                return call.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new KopisUnavailableException("KOPIS response could not be read", e);
+            }
+        };
+        Supplier<T> decorated = Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, supplier));
+
+        try {
+            T result = decorated.get();
+            if (result != null) lastKnown.put(key, new Cached(result, System.currentTimeMillis()));
+            return result;
+        } catch (RuntimeException e) {
+            // CallNotPermittedException(차단), BulkheadFullException(동시 호출 초과), 타임아웃/HTTP 오류 모두 대체 응답으로
+            return fallback(key, cached != null ? (T) cached.value() : null, e);
+        }
+    }
+
+    // 같은 키로 먼저 나간 호출의 결과(대체 응답 포함)를 그대로 돌려준다
+    @SuppressWarnings("unchecked")
+    private <T> T awaitLeader(String key, CompletableFuture<Object> leader, Cached cached) {
+        try {
+            return (T) leader.get(coalesceWaitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            return fallback(key, cached != null ? (T) cached.value() : null, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback(key, cached != null ? (T) cached.value() : null, e);
+        } catch (TimeoutException e) {
+            return fallback(key, cached != null ? (T) cached.value() : null, e);
+        }
+    }
+
+    private <T> T fallback(String key, T cached, Exception cause) {
+        if (cached != null) {
+            fallbackCached.increment();
+            log.warn("KOPIS call failed ({}), serving last known response for {}", cause.getClass().getSimpleName(), key);
+            return cached;
+        }
+        fallbackNone.increment();
+        throw new KopisUnavailableException("KOPIS is unavailable: " + cause.getMessage(), cause);
+    }
+}
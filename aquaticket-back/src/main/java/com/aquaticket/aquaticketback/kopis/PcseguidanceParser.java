@@ -0,0 +1,185 @@
+package com.aquaticket.aquaticketback.kopis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * KOPIS pcseguidance(티켓 가격 안내) 문자열을 (등급, 최저가, 최고가) 목록으로 파싱한다.
+ * 예: "R석 198,000원, S석 154,000원", "전석 30,000원", "A석 10,000 ~ 20,000원"
+ *
+ * 대부분의 공연은 "등급 금액원" 을 쉼표로 이어 붙인 형식이라 한 번의 문자 스캔(fast path)으로 끝내고,
+ * 그 외 형식만 미리 컴파일해 둔 정규식으로 처리한다.
+ */
+public final class PcseguidanceParser {
+
+    // 기존 KopisProxyController 의 정규식과 동일 (매 호출마다 compile 하지 않도록 상수로 보관)
+    private static final Pattern TIER_PATTERN = Pattern.compile(
+            "([A-Za-z가-힣0-9]+(?:석|전석|스탠딩|자유석|지정석)?)\\s*([\\d,]+(?:\\s*~\\s*[\\d,]+)?)\\s*원?"
+    );
+    private static final Pattern SEGMENT_SPLIT = Pattern.compile("[,;/\\n]+");
+    private static final Pattern PARENTHESES = Pattern.compile("\\(.*?\\)");
+
+    private PcseguidanceParser() {
+    }
+
+    /** 파싱 결과 한 줄. 단일 금액이면 minWon == maxWon */
+    public record Tier(String grade, int minWon, int maxWon) {
+        public boolean isRange() {
+            return minWon != maxWon;
+        }
+    }
+
+    public static List<Tier> parse(String guide) {
+        if (guide == null || guide.isBlank()) return List.of();
+
+        List<Tier> fast = parseFast(guide);
+        if (fast != null) return fast;
+
+        List<Tier> out = parseRegex(guide);
+        if (out.isEmpty()) out = parseTokens(guide);
+        return out;
+    }
+
+    /* =========================
+       fast path: "등급 금액[~금액][원]" 이 구분자로 이어진 형식만 처리, 아니면 null
+       ========================= */
+    static List<Tier> parseFast(String s) {
+        List<Tier> out = new ArrayList<>(4);
+        int n = s.length();
+        int i = 0;
+
+        while (true) {
+            // 구분자/공백 건너뛰기
+            while (i < n && isSeparator(s.charAt(i))) i++;
+            if (i >= n) break;
+
+            // 등급: 공백 전까지, 숫자로 시작하면 안 됨
+            int gradeStart = i;
+            if (isDigit(s.charAt(i))) return null;
+            while (i < n && !Character.isWhitespace(s.charAt(i))) {
+                char c = s.charAt(i);
+                if (c == ',' || c == '~' || c == '(' || isDigit(c)) return null;
+                i++;
+            }
+            String grade = s.substring(gradeStart, i);
+            while (i < n && s.charAt(i) == ' ') i++;
+
+            // 금액
+            long lo = 0;
+            int digits = 0;
+            while (i < n) {
+                char c = s.charAt(i);
+                if (isDigit(c)) {
+                    lo = lo * 10 + (c - '0');
+                    if (lo > Integer.MAX_VALUE) return null;
+                    digits++;
+                } else if (c != ',' || i + 1 >= n || !isDigit(s.charAt(i + 1))) {
+                    break;
+                }
+                i++;
+            }
+            if (digits == 0) return null;
+
+            long hi = lo;
+            int j = i;
+            while (j < n && s.charAt(j) == ' ') j++;
+            if (j < n && s.charAt(j) == '~') {
+                j++;
+                while (j < n && s.charAt(j) == ' ') j++;
+                hi = 0;
+                digits = 0;
+                while (j < n) {
+                    char c = s.charAt(j);
+                    if (isDigit(c)) {
+                        hi = hi * 10 + (c - '0');
+                        if (hi > Integer.MAX_VALUE) return null;
+                        digits++;
+                    } else if (c != ',' || j + 1 >= n || !isDigit(s.charAt(j + 1))) {
+                        break;
+                    }
+                    j++;
+                }
+                if (digits == 0) return null;
+                i = j;
+            }
+
+            if (i < n && s.charAt(i) == '원') i++;
+
+            // 다음 문자는 반드시 구분자이거나 끝이어야 한다 (괄호 설명 등은 정규식 경로로)
+            if (i < n && !isSeparator(s.charAt(i))) return null;
+
+            out.add(new Tier(grade, (int) Math.min(lo, hi), (int) Math.max(lo, hi)));
+        }
+
+        return out.isEmpty() ? null : out;
+    }
+
+    /* =========================
+       정규식 경로 (기존 파싱 규칙 유지)
+       ========================= */
+    private static List<Tier> parseRegex(String guide) {
+        List<Tier> out = new ArrayList<>();
+        Matcher m = TIER_PATTERN.matcher(guide);
+        while (m.find()) {
+            String grade = m.group(1);
+            Tier tier = toTier(grade, m.group(2));
+            if (tier != null) out.add(tier);
+        }
+        return out;
+    }
+
+    private static List<Tier> parseTokens(String guide) {
+        List<Tier> out = new ArrayList<>();
+        for (String raw : SEGMENT_SPLIT.split(guide)) {
+            String s = raw.trim();
+            if (s.isEmpty()) continue;
+
+            int lastSpace = s.lastIndexOf(' ');
+            if (lastSpace <= 0) continue;
+            String grade = PARENTHESES.matcher(s.substring(0, lastSpace)).replaceAll("");
+            Tier tier = toTier(grade, s.substring(lastSpace + 1));
+            if (tier != null) out.add(tier);
+        }
+        return out;
+    }
+
+    private static Tier toTier(String grade, String amount) {
+        if (grade == null || grade.isBlank() || amount == null) return null;
+        int tilde = amount.indexOf('~');
+        long lo = digitsOf(tilde < 0 ? amount : amount.substring(0, tilde));
+        long hi = (tilde < 0) ? lo : digitsOf(amount.substring(tilde + 1));
+        if (lo < 0 || hi < 0) return null;
+        return new Tier(grade.trim(), (int) Math.min(lo, hi), (int) Math.max(lo, hi));
+    }
+
+    /** 숫자만 모아 정수로. 숫자가 없거나 int 범위를 넘으면 -1 */
+    private static long digitsOf(String s) {
+        long v = 0;
+        int digits = 0;
+        for (int k = 0; k < s.length(); k++) {
+            char c = s.charAt(k);
+            if (isDigit(c)) {
+                v = v * 10 + (c - '0');
+                if (v > Integer.MAX_VALUE) return -1;
+                digits++;
+            }
+        }
+        return digits == 0 ? -1 : v;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ',' || c == ';' || c == '/' || c == '\n' || c == '\r' || Character.isWhitespace(c);
+    }
+
+    /** 화면 표시용: "##,###원" 또는 "lo~hi원" */
+    public static String format(int minWon, int maxWon) {
+        if (minWon == maxWon) return String.format("%,d원", minWon);
+        return String.format("%,d~%,d원", minWon, maxWon);
+    }
+}
@@ -0,0 +1,40 @@
+package com.aquaticket.aquaticketback.repository;
+
+import com.aquaticket.aquaticketback.domain.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /** 아직 안 쓴 토큰만 사용 처리. 0 이면 이미 쓰였거나 폐기된 토큰 (동시에 두 번 와도 한 쪽만 성공) */
+    @Modifying
+    @Transactional
+    @Query("update RefreshToken t set t.usedAt = :now where t.id = :id and t.usedAt is null and t.revokedAt is null")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /** 폐기되지 않았고 since 이후에 쓰인 토큰인가 (동시 갱신 유예 판단) */
+    @Query("select count(t) > 0 from RefreshToken t where t.id = :id and t.revokedAt is null and t.usedAt >= :since")
+    boolean usedSince(@Param("id") Long id, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("update RefreshToken t set t.revokedAt = :now where t.userId = :userId and t.revokedAt is null")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
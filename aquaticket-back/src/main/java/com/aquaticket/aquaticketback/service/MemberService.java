@@ -1,44 +1,55 @@
 package com.aquaticket.aquaticketback.service;
 
+import com.aquaticket.aquaticketback.config.AuthUser;
 import com.aquaticket.aquaticketback.domain.User;
 import com.aquaticket.aquaticketback.dto.UpdateMeRequest;
 import com.aquaticket.aquaticketback.dto.ChangePasswordRequest;
 import com.aquaticket.aquaticketback.repository.UserRepository;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class MemberService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordEncoder;
+    private final UserCache userCache;
+    private final RefreshTokenService refreshTokenService;
 
-    public MemberService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public MemberService(UserRepository userRepository, PasswordHashingService passwordEncoder, UserCache userCache,
+                         RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.refreshTokenService = refreshTokenService;
     }
 
     public User getMyInfo() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+        return currentUser();
     }
 
     public void updateMyInfo(UpdateMeRequest request) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser();
         user.setNickname(request.getNickname());
         user.setPhone(request.getPhone());
         userRepository.save(user);
+        userCache.put(user);
     }
 
     public void changePassword(ChangePasswordRequest request) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser();
         if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPasswordHash())) {
             throw new RuntimeException("Incorrect current password");
         }
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        userCache.evict(user.getId());
+        // 이 요청의 액세스 토큰과 모든 리프레시 토큰 폐기 (다시 로그인해야 함)
+        refreshTokenService.revokeAll(user.getId(), AuthUser.current());
+    }
+
+    // 토큰의 uid 로 PK 조회 (이메일 조회 없음)
+    private User currentUser() {
+        Long id = userCache.idOf(AuthUser.current());
+        return userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
     }
 }
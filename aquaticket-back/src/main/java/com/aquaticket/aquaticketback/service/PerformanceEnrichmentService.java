@@ -0,0 +1,136 @@
+package com.aquaticket.aquaticketback.service;
+
+import com.aquaticket.aquaticketback.booking.service.PriceTierService;
+import com.aquaticket.aquaticketback.dto.EnrichedPerformanceDto;
+import com.aquaticket.aquaticketback.dto.PriceLineDto;
+import com.aquaticket.aquaticketback.kopis.KopisClient;
+import com.aquaticket.aquaticketback.kopis.KopisDetail;
+import com.aquaticket.aquaticketback.kopis.KopisItem;
+import com.aquaticket.aquaticketback.kopis.PcseguidanceParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공연 목록 항목에 상세/가격 등급을 붙인다.
+ * 항목별 KOPIS 상세 조회는 kopisFanoutExecutor 에서 동시에 실행하고, 요청 전체에 마감 시간(kopis.enrich.deadline-ms)을 둔다.
+ * 마감까지 끝나지 않은 항목은 목록 필드만 채워 enriched=false 로 돌려준다. (남은 호출은 계속 진행되어 KopisClient 캐시에 남는다)
+ * 가격 등급은 PriceTierService.peekTiers 로 읽기만 한다. 항목마다 쓰기 트랜잭션을 열지 않고, 동기화는 모아서 나중에 저장된다.
+ */
+@Service
+public class PerformanceEnrichmentService {
+
+    /** 상세 + 가격 등급 */
+    private record Enrichment(KopisDetail detail, List<PcseguidanceParser.Tier> tiers) {}
+
+    private final KopisClient kopisClient;
+    private final PriceTierService priceTierService;
+    private final Executor executor;
+    private final long deadlineMs;
+
+    private final Counter enrichedCount;
+    private final Counter partialCount;
+
+    public PerformanceEnrichmentService(KopisClient kopisClient, PriceTierService priceTierService,
+                                        @Qualifier("kopisFanoutExecutor") Executor executor,
+                                        @Value("${kopis.enrich.deadline-ms:1500}") long deadlineMs,
+                                        MeterRegistry meterRegistry) {
+        this.kopisClient = kopisClient;
+        this.priceTierService = priceTierService;
+        this.executor = executor;
+        this.deadlineMs = deadlineMs;
+        this.enrichedCount = Counter.builder("kopis.enrich.items").tag("result", "enriched").register(meterRegistry);
+        this.partialCount = Counter.builder("kopis.enrich.items").tag("result", "partial").register(meterRegistry);
+    }
+
+    public List<EnrichedPerformanceDto> enrich(List<KopisItem> items) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+        List<CompletableFuture<Enrichment>> futures = new ArrayList<>(items.size());
+        for (KopisItem item : items) {
+            futures.add(submit(item.getMt20id()));
+        }
+
+        List<EnrichedPerformanceDto> out = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Enrichment e = await(futures.get(i), deadline);
+            if (e != null) {
+                enrichedCount.increment();
+            } else {
+                partialCount.increment();
+            }
+            out.add(toDto(items.get(i), e));
+        }
+        return out;
+    }
+
+    private CompletableFuture<Enrichment> submit(String mt20id) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                KopisDetail detail = kopisClient.fetchDetail(mt20id);
+                return new Enrichment(detail, priceTierService.peekTiers(detail));
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            // 풀/큐가 가득 차면 이 항목은 목록 필드만
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 마감 시간까지 기다리고, 실패/시간 초과면 null
+    private Enrichment await(CompletableFuture<Enrichment> future, long deadline) {
+        try {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return future.getNow(null);
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static EnrichedPerformanceDto toDto(KopisItem item, Enrichment e) {
+        EnrichedPerformanceDto.EnrichedPerformanceDtoBuilder b = EnrichedPerformanceDto.builder()
+                .mt20id(item.getMt20id())
+                .prfnm(item.getPrfnm())
+                .prfpdfrom(item.getPrfpdfrom())
+                .prfpdto(item.getPrfpdto())
+                .fcltynm(item.getFcltynm())
+                .poster(item.getPoster())
+                .genrenm(item.getGenrenm())
+                .prfstate(item.getPrfstate())
+                .area(item.getArea())
+                .openrun(item.getOpenrun())
+                .prices(List.of());
+        if (e == null || e.detail() == null) return b.enriched(false).build();
+
+        KopisDetail d = e.detail();
+        List<PriceLineDto> prices = e.tiers().stream()
+                .map(t -> new PriceLineDto(t.grade(), "-", PcseguidanceParser.format(t.minWon(), t.maxWon())))
+                .toList();
+        return b.prfcast(d.getPrfcast())
+                .prfruntime(d.getPrfruntime())
+                .prfage(d.getPrfage())
+                .dtguidance(d.getDtguidance())
+                .prices(prices)
+                .minPrice(orNull(e.tiers().stream().mapToInt(PcseguidanceParser.Tier::minWon).filter(p -> p > 0).min()))
+                .maxPrice(orNull(e.tiers().stream().mapToInt(PcseguidanceParser.Tier::maxWon).max()))
+                .enriched(true)
+                .build();
+    }
+
+    private static Integer orNull(OptionalInt v) {
+        return v.isPresent() ? v.getAsInt() : null;
+    }
+}
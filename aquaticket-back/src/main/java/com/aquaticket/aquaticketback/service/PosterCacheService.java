@@ -0,0 +1,443 @@
+package com.aquaticket.aquaticketback.service;
+
+import com.aquaticket.aquaticketback.kopis.KopisClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * KOPIS 포스터/소개 이미지 로컬 디스크 캐시.
+ * - 원본은 내용 SHA-256 으로 저장 (objects/ab/abcd...), URL → 해시는 index/ 에 기록
+ * - 썸네일은 원본 해시 + 너비로 저장 (objects/ab/abcd..._w200.jpg)
+ * - 전체 크기(index 파일 포함, 파일마다 4KB 블록 단위)가 poster.cache-max-bytes 를 넘으면 가장 오래 사용하지 않은 파일부터 삭제 (LRU)
+ * - LRU 에서 빠진 파일은 poster.evict-grace-ms 뒤에 지운다 (이미 돌려준 경로를 sendfile 이 아직 읽는 중일 수 있으므로)
+ * - 같은 URL/크기의 미스는 한 번만 내려받고/만들고, 나머지는 그 결과를 기다린다 (락을 잡은 채 다운로드하지 않는다)
+ */
+@Service
+public class PosterCacheService {
+    private static final Logger log = LoggerFactory.getLogger(PosterCacheService.class);
+
+    private static final long BLOCK_BYTES = 4096;
+
+    public enum Size {
+        ORIGINAL(0), THUMB(200), MEDIUM(480);
+
+        private final int width;
+
+        Size(int width) {
+            this.width = width;
+        }
+
+        public static Size from(String value) {
+            if (value == null) return ORIGINAL;
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "thumb", "small" -> THUMB;
+                case "medium" -> MEDIUM;
+                default -> ORIGINAL;
+            };
+        }
+    }
+
+    /** 응답에 필요한 파일 정보. 내용 기반 이름이므로 etag 는 바뀌지 않는다. */
+    public record CachedPoster(Path file, String etag, MediaType contentType, long length) {}
+
+    private final Path objectsDir;
+    private final Path indexDir;
+    private final long maxBytes;
+    private final int maxDownloadBytes;
+    private final long maxPixels;
+    private final long evictGraceMs;
+    private final KopisClient kopisClient;
+
+    // 접근 순서 LinkedHashMap: 가장 앞이 가장 오래 사용하지 않은 파일. 값은 디스크에서 차지하는 바이트
+    private final LinkedHashMap<Path, Long> lru = new LinkedHashMap<>(256, 0.75f, true);
+    // LRU 에서 빠져 지울 예정인 파일 → 지울 시각 (lru 로 동기화)
+    private final Map<Path, Long> evicted = new HashMap<>();
+    private long totalBytes;
+
+    // "urlKey:크기" → 진행 중인 다운로드/썸네일 생성
+    private final Map<String, CompletableFuture<CachedPoster>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public PosterCacheService(@Value("${poster.cache-dir:./poster-cache}") String cacheDir,
+                              @Value("${poster.cache-max-bytes:1073741824}") long maxBytes,
+                              @Value("${poster.max-download-bytes:10485760}") int maxDownloadBytes,
+                              @Value("${poster.max-image-pixels:50000000}") long maxPixels,
+                              @Value("${poster.evict-grace-ms:60000}") long evictGraceMs,
+                              KopisClient kopisClient,
+                              MeterRegistry meterRegistry) {
+        Path root = Paths.get(cacheDir).toAbsolutePath();
+        this.objectsDir = root.resolve("objects");
+        this.indexDir = root.resolve("index");
+        this.maxBytes = maxBytes;
+        this.maxDownloadBytes = maxDownloadBytes;
+        this.maxPixels = maxPixels;
+        this.evictGraceMs = evictGraceMs;
+        this.kopisClient = kopisClient;
+
+        this.hits = Counter.builder("poster.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("poster.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("poster.cache.evictions").register(meterRegistry);
+        Gauge.builder("poster.cache.bytes", this, PosterCacheService::currentBytes).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(objectsDir);
+        Files.createDirectories(indexDir);
+
+        // 재시작 시 기존 파일(원본/썸네일/index)을 마지막 수정 시각 순으로 LRU 에 적재. 쓰다 만 임시 파일은 지운다
+        List<Map.Entry<Path, BasicFileAttributes>> files = new ArrayList<>();
+        for (Path dir : List.of(objectsDir, indexDir)) {
+            try (Stream<Path> walk = Files.walk(dir)) {
+                for (Path p : (Iterable<Path>) walk::iterator) {
+                    if (!Files.isRegularFile(p)) continue;
+                    if (p.getFileName().toString().endsWith(".tmp")) {
+                        Files.deleteIfExists(p);
+                        continue;
+                    }
+                    files.add(Map.entry(p, Files.readAttributes(p, BasicFileAttributes.class)));
+                }
+            }
+        }
+        files.sort(Comparator.comparing(e -> e.getValue().lastModifiedTime()));
+        synchronized (lru) {
+            for (Map.Entry<Path, BasicFileAttributes> e : files) {
+                long onDisk = onDisk(e.getValue().size());
+                lru.put(e.getKey(), onDisk);
+                totalBytes += onDisk;
+            }
+        }
+        log.info("Poster cache ready at {}: {} files, {} bytes", objectsDir.getParent(), files.size(), totalBytes);
+    }
+
+    /**
+     * URL 의 이미지를 요청 크기로 반환한다. 없으면 한 번만 내려받아 저장한다.
+     * @throws IllegalArgumentException 허용되지 않은 URL
+     * @throws IOException 다운로드/저장 실패, 너무 큰 이미지
+     */
+    public CachedPoster get(String url, Size size) throws IOException {
+        validate(url);
+        String urlKey = sha256Hex(url.getBytes(StandardCharsets.UTF_8));
+
+        CachedPoster cached = lookup(urlKey, size);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        String key = urlKey + ":" + size;
+        CompletableFuture<CachedPoster> mine = new CompletableFuture<>();
+        CompletableFuture<CachedPoster> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            return await(leader);
+        }
+        try {
+            CachedPoster result = load(url, urlKey, size);
+            mine.complete(result);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public long currentBytes() {
+        synchronized (lru) {
+            return totalBytes;
+        }
+    }
+
+    /** 유예 시간이 지난 퇴출 파일을 지운다 */
+    @Scheduled(fixedDelayString = "${poster.evict-grace-ms:60000}")
+    public void purgeEvicted() {
+        long now = System.currentTimeMillis();
+        List<Path> due = new ArrayList<>();
+        synchronized (lru) {
+            Iterator<Map.Entry<Path, Long>> it = evicted.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Path, Long> e = it.next();
+                if (e.getValue() <= now) {
+                    due.add(e.getKey());
+                    it.remove();
+                }
+            }
+        }
+        for (Path victim : due) {
+            try {
+                Files.deleteIfExists(victim);
+                evictions.increment();
+            } catch (IOException e) {
+                log.warn("Failed to evict poster cache file {}", victim, e);
+            }
+        }
+    }
+
+    /* =========================
+       조회 / 적재
+       ========================= */
+    // 디스크에 이미 있으면 바로 돌려준다 (락 없음)
+    private CachedPoster lookup(String urlKey, Size size) throws IOException {
+        String[] index = readIndex(urlKey);
+        if (index == null) return null;
+        String contentHash = index[0];
+        Path original = objectPath(contentHash, "");
+        if (!Files.exists(original)) return null;
+
+        Path file = size == Size.ORIGINAL ? original : objectPath(contentHash, "_w" + size.width + ".jpg");
+        if (!Files.exists(file)) return null;
+        touch(indexDir.resolve(urlKey));
+        touch(file);
+        MediaType type = size == Size.ORIGINAL ? MediaType.parseMediaType(index[1]) : MediaType.IMAGE_JPEG;
+        return new CachedPoster(file, etag(contentHash, size), type, Files.size(file));
+    }
+
+    private CachedPoster load(String url, String urlKey, Size size) throws IOException {
+        String[] index = readIndex(urlKey);
+        if (index != null) {
+            Path original = objectPath(index[0], "");
+            if (Files.exists(original)) {
+                // 원본은 있고 썸네일만 없음
+                touch(original);
+                return resize(index[0], Files.readAllBytes(original), size, MediaType.parseMediaType(index[1]));
+            }
+        }
+
+        // 캐시 미스: 원본 다운로드 후 저장 (KOPIS 목록/상세와 같은 타임아웃/bulkhead/circuit breaker, 크기 제한)
+        byte[] bytes = kopisClient.fetchImage(url, maxDownloadBytes);
+        if (bytes == null || bytes.length == 0) {
+            throw new IOException("Empty image response: " + url);
+        }
+        String contentHash = sha256Hex(bytes);
+        MediaType contentType = sniff(bytes);
+        Path original = objectPath(contentHash, "");
+        if (!Files.exists(original)) {
+            store(original, bytes);
+        } else {
+            touch(original);
+        }
+        writeIndex(urlKey, contentHash, contentType);
+
+        if (size == Size.ORIGINAL) {
+            return new CachedPoster(original, etag(contentHash, size), contentType, bytes.length);
+        }
+        return resize(contentHash, bytes, size, contentType);
+    }
+
+    private static CachedPoster await(CompletableFuture<CachedPoster> leader) throws IOException {
+        try {
+            return leader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for poster download", e);
+        }
+    }
+
+    /* =========================
+       썸네일 생성
+       ========================= */
+    private CachedPoster resize(String contentHash, byte[] originalBytes, Size size, MediaType originalType) throws IOException {
+        Path original = objectPath(contentHash, "");
+        BufferedImage src = decode(originalBytes, size.width);
+        if (src == null) {
+            // 읽을 수 없는 형식이거나 이미 충분히 작으면 원본 그대로
+            return new CachedPoster(original, etag(contentHash, Size.ORIGINAL), originalType, Files.size(original));
+        }
+
+        int w = size.width;
+        int h = Math.max(1, (int) Math.round(src.getHeight() * (w / (double) src.getWidth())));
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+
+        Path thumb = objectPath(contentHash, "_w" + w + ".jpg");
+        Path tmp = Files.createTempFile(thumb.getParent(), "thumb", ".tmp");
+        ImageIO.write(out, "jpg", tmp.toFile());
+        Files.move(tmp, thumb, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        long length = Files.size(thumb);
+        added(thumb, length);
+        return new CachedPoster(thumb, etag(contentHash, size), MediaType.IMAGE_JPEG, length);
+    }
+
+    /**
+     * 헤더의 가로/세로만 먼저 읽고 poster.max-image-pixels 를 넘으면 디코딩하지 않는다 (압축 폭탄 방지).
+     * 목표 너비의 정수배 이상이면 그만큼 건너뛰며 읽어서 원본 해상도 전체를 메모리에 올리지 않는다.
+     * 읽을 수 없거나 이미 targetWidth 이하이면 null
+     */
+    private BufferedImage decode(byte[] bytes, int targetWidth) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image of " + width + "x" + height + " exceeds " + maxPixels + " pixels");
+                }
+                if (width <= targetWidth) return null;
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = width / targetWidth;
+                if (step > 1) param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /* =========================
+       파일/LRU 관리
+       ========================= */
+    private void store(Path target, byte[] bytes) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), "obj", ".tmp");
+        Files.write(tmp, bytes);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        added(target, bytes.length);
+    }
+
+    private void added(Path file, long size) {
+        long onDisk = onDisk(size);
+        long deleteAt = System.currentTimeMillis() + evictGraceMs;
+        synchronized (lru) {
+            evicted.remove(file);
+            Long prev = lru.put(file, onDisk);
+            totalBytes += onDisk - (prev != null ? prev : 0);
+
+            Iterator<Map.Entry<Path, Long>> it = lru.entrySet().iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<Path, Long> eldest = it.next();
+                if (eldest.getKey().equals(file)) continue;
+                totalBytes -= eldest.getValue();
+                // 바로 지우지 않고 유예 (purgeEvicted)
+                evicted.put(eldest.getKey(), deleteAt);
+                it.remove();
+            }
+        }
+    }
+
+    // 지울 예정이던 파일을 다시 쓰면 LRU 로 되돌린다
+    private void touch(Path file) {
+        synchronized (lru) {
+            if (lru.get(file) != null) return;
+            if (evicted.remove(file) == null) return;
+            try {
+                long onDisk = onDisk(Files.size(file));
+                lru.put(file, onDisk);
+                totalBytes += onDisk;
+            } catch (IOException e) {
+                // 그 사이 지워졌으면 다음 조회에서 다시 받는다
+            }
+        }
+    }
+
+    // 작은 파일도 블록 하나는 차지한다 (index 파일이 특히 그렇다)
+    private static long onDisk(long size) {
+        return Math.max(1, (size + BLOCK_BYTES - 1) / BLOCK_BYTES) * BLOCK_BYTES;
+    }
+
+    private Path objectPath(String contentHash, String suffix) {
+        return objectsDir.resolve(contentHash.substring(0, 2)).resolve(contentHash + suffix);
+    }
+
+    private String[] readIndex(String urlKey) throws IOException {
+        Path p = indexDir.resolve(urlKey);
+        String content;
+        try {
+            content = Files.readString(p);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        String[] parts = content.split("\n");
+        return parts.length == 2 ? parts : null;
+    }
+
+    private void writeIndex(String urlKey, String contentHash, MediaType contentType) throws IOException {
+        Path target = indexDir.resolve(urlKey);
+        Path tmp = Files.createTempFile(indexDir, "idx", ".tmp");
+        Files.writeString(tmp, contentHash + "\n" + contentType);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        added(target, Files.size(target));
+    }
+
+    private static String etag(String contentHash, Size size) {
+        return "\"" + contentHash + (size == Size.ORIGINAL ? "" : "-w" + size.width) + "\"";
+    }
+
+    private static void validate(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid image url: " + url);
+        }
+        String scheme = uri.getScheme();
+        String host = uri.getHost();
+        if (scheme == null || !(scheme.equals("http") || scheme.equals("https"))
+                || host == null || !(host.equals("kopis.or.kr") || host.endsWith(".kopis.or.kr"))) {
+            throw new IllegalArgumentException("Only KOPIS image urls are allowed: " + url);
+        }
+    }
+
+    private static MediaType sniff(byte[] b) {
+        if (b.length >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8) return MediaType.IMAGE_JPEG;
+        if (b.length >= 4 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G') return MediaType.IMAGE_PNG;
+        if (b.length >= 3 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F') return MediaType.IMAGE_GIF;
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.aquaticket.aquaticketback.service;
+
+import com.aquaticket.aquaticketback.config.AuthUser;
+import com.aquaticket.aquaticketback.config.JwtTokenProvider;
+import com.aquaticket.aquaticketback.domain.RefreshToken;
+import com.aquaticket.aquaticketback.exception.UserNotFoundException;
+import com.aquaticket.aquaticketback.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 리프레시 토큰 발급/교체(rotation)/폐기.
+ * 액세스 토큰은 짧게(jwt.expiration) 두고, 만료되면 /api/auth/refresh 로 BCrypt 없이 새로 받는다.
+ * 리프레시 토큰은 한 번만 쓸 수 있고, 쓸 때마다 같은 family 의 새 토큰을 준다.
+ * 이미 쓴 토큰이 다시 오면(탈취 의심) 그 family 를 모두 폐기한다.
+ * 단 쓰인 지 jwt.refresh-reuse-grace-ms 안이면 여러 탭이 동시에 갱신한 것으로 보고 같은 family 의 새 토큰을 한 번 더 준다.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    public record TokenPair(String accessToken, String refreshToken) {}
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService revocationService;
+    private final UserCache userCache;
+    private final long refreshExpirationMs;
+    private final long reuseGraceMs;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, JwtTokenProvider jwtTokenProvider,
+                               TokenRevocationService revocationService, UserCache userCache,
+                               @Value("${jwt.refresh-expiration:1209600000}") long refreshExpirationMs,
+                               @Value("${jwt.refresh-reuse-grace-ms:5000}") long reuseGraceMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.revocationService = revocationService;
+        this.userCache = userCache;
+        this.refreshExpirationMs = refreshExpirationMs;
+        this.reuseGraceMs = reuseGraceMs;
+    }
+
+    /** 로그인 직후: 새 family 의 리프레시 토큰 */
+    @Transactional
+    public String issue(Long userId) {
+        return save(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 리프레시 토큰을 쓰고 새 액세스/리프레시 토큰을 받는다.
+     * 잘못됐거나 만료/폐기/재사용된 토큰이면 UserNotFoundException(401).
+     */
+    // READ COMMITTED: 다른 탭이 방금 커밋한 사용 기록을 usedSince 가 볼 수 있도록
+    @Transactional(isolation = Isolation.READ_COMMITTED, noRollbackFor = UserNotFoundException.class)
+    public TokenPair rotate(String rawRefreshToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                .orElseThrow(() -> new UserNotFoundException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new UserNotFoundException("Refresh token expired");
+        }
+        if (refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            if (refreshTokenRepository.usedSince(token.getId(), now.minus(Duration.ofMillis(reuseGraceMs)))) {
+                // 여러 탭이 같은 토큰으로 거의 동시에 갱신: 탈취로 보지 않는다
+                log.debug("Refresh token of user {} reused within grace period", token.getUserId());
+            } else {
+                if (token.getRevokedAt() == null) {
+                    log.warn("Refresh token reuse detected for user {}. Revoking family {}", token.getUserId(), token.getFamilyId());
+                    refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+                }
+                throw new UserNotFoundException("Refresh token already used or revoked");
+            }
+        }
+
+        UserCache.Profile user = userCache.get(token.getUserId());
+        String access = jwtTokenProvider.createToken(user.id(), user.email(), user.role());
+        return new TokenPair(access, save(user.id(), token.getFamilyId()));
+    }
+
+    /** 로그아웃: 현재 액세스 토큰과 리프레시 토큰 family 폐기 */
+    @Transactional
+    public void logout(AuthUser principal, String rawRefreshToken) {
+        if (principal != null) revokeAccessToken(principal);
+        if (rawRefreshToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                    .ifPresent(t -> refreshTokenRepository.revokeFamily(t.getFamilyId(), LocalDateTime.now()));
+        }
+    }
+
+    /** 비밀번호 변경 등: 사용자의 모든 리프레시 토큰 폐기 (다른 기기의 액세스 토큰은 짧은 만료로 정리된다) */
+    @Transactional
+    public void revokeAll(Long userId, AuthUser current) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+        if (current != null) revokeAccessToken(current);
+    }
+
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 30 4 * * *}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) log.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private void revokeAccessToken(AuthUser principal) {
+        if (principal.jti() == null || principal.expiresAt() == null) return;
+        revocationService.revoke(principal.jti(), LocalDateTime.ofInstant(principal.expiresAt(), ZoneId.systemDefault()));
+    }
+
+    private String save(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUserId(userId);
+        token.setTokenHash(hash(raw));
+        token.setFamilyId(familyId);
+        token.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs)));
+        refreshTokenRepository.save(token);
+        return raw;
+    }
+
+    private static String hash(String raw) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
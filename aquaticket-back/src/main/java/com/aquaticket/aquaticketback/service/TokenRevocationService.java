@@ -0,0 +1,164 @@
+package com.aquaticket.aquaticketback.service;
+
+import com.aquaticket.aquaticketback.domain.RevokedToken;
+import com.aquaticket.aquaticketback.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 폐기된 액세스 토큰(jti) 확인.
+ * revoked_tokens 목록을 메모리 Bloom filter 로 들고 있어서 대부분의 요청(폐기되지 않은 토큰)은 DB 없이 O(1) 로 끝난다.
+ * filter 가 "있을 수도 있음" 이라고 할 때만(폐기된 토큰 + 오탐) DB 로 확인한다.
+ *
+ * filter 는 jwt.revocation.rebuild-ms 마다 만료되지 않은 목록으로 다시 만든다.
+ * (만료된 jti 를 빼고, 다른 인스턴스에서 폐기한 토큰도 반영)
+ * 폐기한 jti 는 트랜잭션이 커밋된 뒤에 filter 에 넣는다. 커밋 전에 넣으면 그 사이 다시 만든 filter(커밋 전 목록)에서 빠진다.
+ */
+@Service
+public class TokenRevocationService {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    /** 고정 크기 Bloom filter. 비트 추가는 CAS 라 락 없이 동시에 읽고 쓸 수 있다. */
+    static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final int numBits;
+        private final int numHashes;
+
+        BloomFilter(int expectedItems, double falsePositiveRate) {
+            int n = Math.max(expectedItems, 1);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.numBits = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+            this.bits = new AtomicLongArray((numBits + 63) / 64);
+        }
+
+        void add(String value) {
+            long h = hash(value);
+            int h1 = (int) h, h2 = (int) (h >>> 32);
+            for (int i = 0; i < numHashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, numBits);
+                int idx = bit >>> 6;
+                long mask = 1L << bit;
+                long cur;
+                do {
+                    cur = bits.get(idx);
+                    if ((cur & mask) != 0) break;
+                } while (!bits.compareAndSet(idx, cur, cur | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long h = hash(value);
+            int h1 = (int) h, h2 = (int) (h >>> 32);
+            for (int i = 0; i < numHashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, numBits);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        // FNV-1a 64 + murmur3 finalizer
+        private static long hash(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedItems;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // 커밋 후 추가 ↔ 다시 만들기(목록 읽기~교체) 사이에 jti 가 빠지지 않도록 (확인은 락 없이)
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final Counter dbChecks;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.revocation.expected-items:100000}") int expectedItems,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                                  MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedItems = expectedItems;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedItems, falsePositiveRate);
+        this.dbChecks = Counter.builder("jwt.revocation.db-checks").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    /** 폐기된 토큰이면 true. jti 가 없는 예전 토큰은 폐기할 수 없으므로 false */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) return false;
+        dbChecks.increment();
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.isBefore(LocalDateTime.now())) return;
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addToFilter(jti);
+                }
+            });
+        } else {
+            addToFilter(jti);
+        }
+    }
+
+    private void addToFilter(String jti) {
+        rebuildLock.lock();
+        try {
+            filter.add(jti);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-ms:60000}", initialDelayString = "${jwt.revocation.rebuild-ms:60000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            revokedTokenRepository.deleteExpired(now);
+            List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+            BloomFilter next = new BloomFilter(Math.max(expectedItems, jtis.size() * 2), falsePositiveRate);
+            jtis.forEach(next::add);
+            filter = next;
+            log.debug("Revocation filter rebuilt with {} tokens", jtis.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+}
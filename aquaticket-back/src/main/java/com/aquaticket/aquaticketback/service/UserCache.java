@@ -0,0 +1,80 @@
+package com.aquaticket.aquaticketback.service;
+
+import com.aquaticket.aquaticketback.config.AuthUser;
+import com.aquaticket.aquaticketback.domain.User;
+import com.aquaticket.aquaticketback.exception.UserNotFoundException;
+import com.aquaticket.aquaticketback.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사용자 id → 프로필(이메일/이름/권한) 캐시 (LRU).
+ * 예매/내 정보처럼 매 요청 사용자를 확인하는 경로가 DB 를 다시 읽지 않도록 한다.
+ * 엔티티가 아니라 불변 스냅샷을 보관하고, MemberService 가 정보를 바꾸면 put/evict 로 갱신한다.
+ */
+@Component
+public class UserCache {
+
+    public record Profile(Long id, String email, String name, String role) {
+        static Profile of(User u) {
+            return new Profile(u.getId(), u.getEmail(), u.getName(), u.getRole());
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final Map<Long, Profile> profiles;
+    // uid 클레임이 없는 예전 토큰용 (email → id)
+    private final Map<String, Long> idsByEmail;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${user.cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.profiles = lru(maxEntries);
+        this.idsByEmail = lru(maxEntries);
+    }
+
+    /** 사용자 프로필. 없는 사용자면 UserNotFoundException */
+    public Profile get(Long id) {
+        Profile p = profiles.get(id);
+        if (p != null) return p;
+        User u = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+        return put(u);
+    }
+
+    /** 인증 주체의 사용자 id. 토큰에 uid 가 없으면 이메일로 한 번 찾아서 기억한다. */
+    public Long idOf(AuthUser principal) {
+        if (principal.id() != null) return principal.id();
+        Long id = idsByEmail.get(principal.email());
+        if (id != null) return id;
+        User u = userRepository.findByEmail(principal.email())
+                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + principal.email()));
+        return put(u).id();
+    }
+
+    /** 저장 직후 호출 (write-through) */
+    public Profile put(User u) {
+        Profile p = Profile.of(u);
+        profiles.put(p.id(), p);
+        idsByEmail.put(p.email(), p.id());
+        return p;
+    }
+
+    public void evict(Long id) {
+        Profile p = profiles.remove(id);
+        if (p != null) idsByEmail.remove(p.email());
+    }
+
+    private static <K, V> Map<K, V> lru(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+}
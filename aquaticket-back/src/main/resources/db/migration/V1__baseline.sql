@@ -0,0 +1,215 @@
+-- 기준 스키마 (ddl-auto=update 가 만들던 것과 같은 테이블/컬럼)
+-- 여러 번 실행해도 되도록 작성한다. 이미 테이블이 있는 DB(ddl-auto=update 시절)는 baseline-version=0 으로
+-- 표시된 뒤 이 파일이 그대로 실행되어, 없는 테이블은 만들고 없는 컬럼/유니크 키는 맨 아래에서 추가한다.
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    email         VARCHAR(120) NOT NULL,
+    name          VARCHAR(50)  NOT NULL,
+    nickname      VARCHAR(50)  NULL,
+    phone         VARCHAR(20)  NULL,
+    password_hash VARCHAR(60)  NULL,
+    provider      VARCHAR(255) NULL,
+    provider_id   VARCHAR(255) NULL,
+    role          VARCHAR(20)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS venues (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    kopis_facility_id  VARCHAR(20)  NULL,
+    name               VARCHAR(150) NOT NULL,
+    address            VARCHAR(255) NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_venues_kopis_facility UNIQUE (kopis_facility_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS performances (
+    id                  BIGINT       NOT NULL AUTO_INCREMENT,
+    kopis_id            VARCHAR(50)  NULL,
+    title               VARCHAR(255) NOT NULL,
+    poster_url          VARCHAR(512) NULL,
+    venue_id            BIGINT       NULL,
+    price_updatedate    VARCHAR(30)  NULL,
+    schedule_updatedate VARCHAR(30)  NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_performances_kopis UNIQUE (kopis_id),
+    CONSTRAINT fk_performances_venue FOREIGN KEY (venue_id) REFERENCES venues (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS shows (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    kopis_id       VARCHAR(255) NOT NULL,
+    performance_id BIGINT       NOT NULL,
+    starts_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_shows_kopis UNIQUE (kopis_id),
+    CONSTRAINT fk_shows_performance FOREIGN KEY (performance_id) REFERENCES performances (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS showtimes (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    kopis_id VARCHAR(255) NOT NULL,
+    show_id  BIGINT       NOT NULL,
+    start_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_showtimes_kopis_start UNIQUE (kopis_id, start_at),
+    INDEX idx_showtime_show (show_id),
+    INDEX idx_showtime_start_at (start_at),
+    CONSTRAINT fk_showtimes_show FOREIGN KEY (show_id) REFERENCES shows (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS seats (
+    id        BIGINT      NOT NULL AUTO_INCREMENT,
+    venue_id  BIGINT      NOT NULL,
+    zone      VARCHAR(50) NULL,
+    row_label VARCHAR(10) NOT NULL,
+    seat_no   INT         NOT NULL,
+    price     INT         NOT NULL,
+    grade     VARCHAR(50) NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uq_seat_position UNIQUE (venue_id, zone, row_label, seat_no),
+    CONSTRAINT fk_seats_venue FOREIGN KEY (venue_id) REFERENCES venues (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS price_tiers (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    performance_id BIGINT      NOT NULL,
+    grade          VARCHAR(50) NOT NULL,
+    min_won        INT         NOT NULL,
+    max_won        INT         NOT NULL,
+    sort_order     INT         NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_price_tier_perf (performance_id),
+    CONSTRAINT fk_price_tiers_performance FOREIGN KEY (performance_id) REFERENCES performances (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS reservations (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id        BIGINT       NULL,
+    show_id        BIGINT       NULL,
+    showtime_id    BIGINT       NULL,
+    booking_number VARCHAR(255) NULL,
+    status         VARCHAR(255) NULL,
+    total_price    INT          NULL,
+    confirmed_at   DATETIME(6)  NULL,
+    created_at     DATETIME(6)  NULL,
+    expires_at     DATETIME(6)  NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_reservations_booking_number UNIQUE (booking_number),
+    CONSTRAINT fk_reservations_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_reservations_show FOREIGN KEY (show_id) REFERENCES shows (id),
+    CONSTRAINT fk_reservations_showtime FOREIGN KEY (showtime_id) REFERENCES showtimes (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS reservation_seats (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    reservation_id BIGINT NOT NULL,
+    seat_id        BIGINT NOT NULL,
+    price          INT    NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reservation_seats_reservation FOREIGN KEY (reservation_id) REFERENCES reservations (id),
+    CONSTRAINT fk_reservation_seats_seat FOREIGN KEY (seat_id) REFERENCES seats (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS seat_locks (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    show_id        BIGINT      NULL,
+    seat_id        BIGINT      NULL,
+    reservation_id BIGINT      NULL,
+    locked_until   DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_seat_locks_show FOREIGN KEY (show_id) REFERENCES shows (id),
+    CONSTRAINT fk_seat_locks_seat FOREIGN KEY (seat_id) REFERENCES seats (id),
+    CONSTRAINT fk_seat_locks_reservation FOREIGN KEY (reservation_id) REFERENCES reservations (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT      NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id  VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    used_at    DATETIME(6) NULL,
+    revoked_at DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    INDEX idx_refresh_tokens_user (user_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti        VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (jti)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS reservation_views (
+    reservation_id    BIGINT        NOT NULL,
+    user_id           BIGINT        NOT NULL,
+    booking_number    VARCHAR(64)   NULL,
+    performance_title VARCHAR(255)  NULL,
+    poster_url        VARCHAR(512)  NULL,
+    viewing_at        DATETIME(6)   NULL,
+    booked_at         DATETIME(6)   NULL,
+    seat_labels       VARCHAR(1000) NULL,
+    seat_count        INT           NULL,
+    total_price       INT           NULL,
+    status            VARCHAR(20)   NULL,
+    PRIMARY KEY (reservation_id),
+    CONSTRAINT uk_reservation_views_booking_number UNIQUE (booking_number),
+    INDEX idx_reservation_views_user (user_id, reservation_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- ==== 예전(ddl-auto=update) DB 에 없는 컬럼/유니크 키 ====
+-- MySQL 에는 ADD COLUMN IF NOT EXISTS 가 없어서 information_schema 로 확인한 뒤 실행한다 (있으면 DO 0).
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE performances ADD COLUMN price_updatedate VARCHAR(30) NULL', 'DO 0')
+              FROM information_schema.columns
+             WHERE table_schema = DATABASE() AND table_name = 'performances' AND column_name = 'price_updatedate');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE performances ADD COLUMN schedule_updatedate VARCHAR(30) NULL', 'DO 0')
+              FROM information_schema.columns
+             WHERE table_schema = DATABASE() AND table_name = 'performances' AND column_name = 'schedule_updatedate');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE seats ADD COLUMN zone VARCHAR(50) NULL', 'DO 0')
+              FROM information_schema.columns
+             WHERE table_schema = DATABASE() AND table_name = 'seats' AND column_name = 'zone');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE seats ADD COLUMN grade VARCHAR(50) NULL', 'DO 0')
+              FROM information_schema.columns
+             WHERE table_schema = DATABASE() AND table_name = 'seats' AND column_name = 'grade');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- upsert(KopisUpsertRepository, ShowtimeMaterializer)가 기대는 유니크 키. 중복 행이 있으면 여기서 실패하므로 먼저 정리한다.
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE shows ADD CONSTRAINT uk_shows_kopis UNIQUE (kopis_id)', 'DO 0')
+              FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'shows' AND index_name = 'uk_shows_kopis');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE showtimes ADD CONSTRAINT uk_showtimes_kopis_start UNIQUE (kopis_id, start_at)', 'DO 0')
+              FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'showtimes' AND index_name = 'uk_showtimes_kopis_start');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE seats ADD CONSTRAINT uq_seat_position UNIQUE (venue_id, zone, row_label, seat_no)', 'DO 0')
+              FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'seats' AND index_name = 'uq_seat_position');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,19 @@
+-- 예매 핫 쿼리용 복합/커버링 인덱스 (BookingQueryPlanTest 로 실행 계획 확인)
+-- InnoDB 보조 인덱스에는 PK(id) 가 뒤에 붙으므로 id 는 적지 않아도 커버된다.
+
+-- ReservationSeatRepository.findSeatIdsByShowtime
+--   reservations: showtime_id = ? AND status = 'CONFIRMED' 를 인덱스만으로 거르고 id 를 얻는다
+--   reservation_seats: reservation_id 로 찾아 seat_id 까지 인덱스에서 읽는다 (테이블 접근 없음)
+CREATE INDEX idx_resv_showtime_status ON reservations (showtime_id, status);
+CREATE INDEX idx_rseat_resv_seat ON reservation_seats (reservation_id, seat_id);
+
+-- SeatLockRepository.findByShowAndLockedUntilAfter: show_id = ? AND locked_until > ?
+--   SeatLock 의 나머지 컬럼(seat_id, reservation_id)까지 넣어 커버링
+CREATE INDEX idx_lock_show_until ON seat_locks (show_id, locked_until, seat_id, reservation_id);
+
+-- 사용자별 예매: user_id = ? ORDER BY id DESC (users 외래 키 인덱스 겸용)
+-- 화면용 예매 내역은 reservation_views 의 idx_reservation_views_user 를 쓴다
+CREATE INDEX idx_resv_user_id ON reservations (user_id, id);
+
+-- ShowtimeRepository.findFirstByKopisIdAndStartAt, findByKopisIdAndStartAtBetweenOrderByStartAtAsc 는
+-- uk_showtimes_kopis_start (kopis_id, start_at) 를 그대로 쓴다
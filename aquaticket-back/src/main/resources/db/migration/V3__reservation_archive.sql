@@ -0,0 +1,29 @@
+-- 끝난 회차의 예매를 옮겨 두는 보관 테이블 (ReservationArchiver)
+-- 원본과 같은 컬럼 + archived_at. 원본 행이 지워지므로 FK 는 걸지 않는다.
+
+CREATE TABLE IF NOT EXISTS reservations_archive (
+    id             BIGINT       NOT NULL,
+    user_id        BIGINT       NULL,
+    show_id        BIGINT       NULL,
+    showtime_id    BIGINT       NULL,
+    booking_number VARCHAR(255) NULL,
+    status         VARCHAR(255) NULL,
+    total_price    INT          NULL,
+    confirmed_at   DATETIME(6)  NULL,
+    created_at     DATETIME(6)  NULL,
+    expires_at     DATETIME(6)  NULL,
+    archived_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_reservations_archive_booking_number UNIQUE (booking_number),
+    INDEX idx_resv_archive_user_id (user_id, id),
+    INDEX idx_resv_archive_showtime (showtime_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS reservation_seats_archive (
+    id             BIGINT NOT NULL,
+    reservation_id BIGINT NOT NULL,
+    seat_id        BIGINT NOT NULL,
+    price          INT    NULL,
+    PRIMARY KEY (id),
+    INDEX idx_rseat_archive_resv_seat (reservation_id, seat_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,17 @@
+-- 예매 이벤트 outbox (BookingOutbox 가 확정/취소 트랜잭션 안에서 쓰고 BookingEventRelay 가 발행)
+
+CREATE TABLE IF NOT EXISTS booking_outbox (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    event_type     VARCHAR(20)   NOT NULL,
+    reservation_id BIGINT        NOT NULL,
+    booking_number VARCHAR(64)   NULL,
+    user_id        BIGINT        NULL,
+    showtime_id    BIGINT        NULL,
+    seat_ids       VARCHAR(1000) NULL,
+    total_price    INT           NULL,
+    created_at     DATETIME(6)   NOT NULL,
+    published_at   DATETIME(6)   NULL,
+    PRIMARY KEY (id),
+    -- 미발행 이벤트를 id 순으로 (published_at IS NULL ORDER BY id)
+    INDEX idx_booking_outbox_unpublished (published_at, id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,5 @@
+-- outbox 행 선점 (BookingEventRelay)
+-- relay 는 짧은 트랜잭션에서 행을 잡고 claimed_until 만 채운 뒤 바로 커밋하고, 로그 쓰기/fsync/발행은 잠금 없이 한다.
+-- 발행 표시 전에 죽으면 claimed_until 이 지난 뒤 다른 relay 가 다시 잡는다 (at-least-once).
+
+ALTER TABLE booking_outbox ADD COLUMN claimed_until DATETIME(6) NULL AFTER created_at;
@@ -0,0 +1,10 @@
+-- 공연별 가격 등급은 등급명당 한 줄 (PriceTierService 가 같은 등급을 합쳐서 저장)
+-- 예전 동기화가 남긴 중복은 가장 먼저 저장된 줄만 남긴다.
+
+DELETE t1 FROM price_tiers t1
+    JOIN price_tiers t2 ON t2.performance_id = t1.performance_id AND t2.grade = t1.grade AND t2.id < t1.id;
+
+-- performance_id 로 시작하므로 FK 와 공연별 조회는 이 키를 쓰고 idx_price_tier_perf 는 필요 없다
+ALTER TABLE price_tiers
+    ADD UNIQUE KEY uk_price_tiers_perf_grade (performance_id, grade),
+    DROP INDEX idx_price_tier_perf;
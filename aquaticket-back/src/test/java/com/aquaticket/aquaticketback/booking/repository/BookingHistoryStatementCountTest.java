@@ -0,0 +1,118 @@
+package com.aquaticket.aquaticketback.booking.repository;
+
+import com.aquaticket.aquaticketback.booking.dto.BookingHistoryDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 예매 내역(ReservationViewRepository.findHistory)이 페이지 크기와 관계없이 쿼리 한 번인지 Hibernate Statistics 로 센다 (N+1 이 없는지).
+ * BookingQueryPlanTest 와 같은 로컬 MySQL 스키마(plan.test.url)를 쓰고, 접속할 수 없으면 건너뛴다.
+ */
+class BookingHistoryStatementCountTest {
+
+    private static final String URL = System.getProperty("plan.test.url",
+            "jdbc:mysql://localhost:3306/aquaticket_plan_test?serverTimezone=Asia/Seoul&createDatabaseIfNotExist=true&rewriteBatchedStatements=true");
+    private static final String USERNAME = System.getProperty("plan.test.username", "aqua");
+    private static final String PASSWORD = System.getProperty("plan.test.password", "aqua1234");
+
+    private static final long USER_ID = 1L;
+    private static final int RESERVATIONS = 60;
+
+    private static EntityManagerFactory emf;
+    private static EntityManager em;
+    private static ReservationViewRepository reservationViewRepository;
+    private static Statistics statistics;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        try (Connection con = DriverManager.getConnection(URL, USERNAME, PASSWORD)) {
+            Flyway flyway = Flyway.configure().dataSource(URL, USERNAME, PASSWORD).cleanDisabled(false).load();
+            flyway.clean();
+            flyway.migrate();
+            seed(con);
+        } catch (SQLException e) {
+            assumeTrue(false, "No local MySQL for statement count tests: " + e.getMessage());
+        }
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(new DriverManagerDataSource(URL, USERNAME, PASSWORD));
+        factory.setPackagesToScan("com.aquaticket.aquaticketback");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // 애플리케이션과 같은 이름 규칙, 2차 캐시 없이 (캐시 적중으로 쿼리 수가 줄지 않도록)
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+                "hibernate.implicit_naming_strategy", "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy",
+                "hibernate.cache.use_second_level_cache", "false",
+                "hibernate.cache.use_query_cache", "false",
+                "hibernate.generate_statistics", "true"));
+        factory.afterPropertiesSet();
+        emf = factory.getObject();
+        em = emf.createEntityManager();
+        reservationViewRepository = new JpaRepositoryFactory(em).getRepository(ReservationViewRepository.class);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (em != null) em.close();
+        if (emf != null) emf.close();
+    }
+
+    private static void seed(Connection con) throws SQLException {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 19, 0);
+        try (PreparedStatement ps = con.prepareStatement(
+                "INSERT INTO reservation_views (reservation_id, user_id, booking_number, performance_title, viewing_at, " +
+                        "booked_at, seat_labels, seat_count, total_price, status) " +
+                        "VALUES (?, ?, ?, 'count-test', ?, ?, 'A-1, A-2', 2, 100000, 'CONFIRMED')")) {
+            for (int i = 0; i < RESERVATIONS; i++) {
+                ps.setLong(1, i + 1);
+                ps.setLong(2, USER_ID);
+                ps.setString(3, "COUNT-" + i);
+                ps.setTimestamp(4, Timestamp.valueOf(base.plusDays(i)));
+                ps.setTimestamp(5, Timestamp.valueOf(base.minusDays(30)));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private long statementsFor(int pageSize) {
+        em.clear();
+        statistics.clear();
+        List<BookingHistoryDto> page = reservationViewRepository.findHistory(USER_ID, null, null, null, null, PageRequest.of(0, pageSize));
+        assertEquals(pageSize, page.size());
+        assertNotNull(page.get(0).getPerformanceTitle());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void historyIsOneStatementRegardlessOfPageSize() {
+        long one = statementsFor(1);
+        long fifty = statementsFor(50);
+        assertEquals(1, one, "statements for page size 1");
+        assertEquals(one, fifty, "statements for page size 50 (N+1?)");
+    }
+}
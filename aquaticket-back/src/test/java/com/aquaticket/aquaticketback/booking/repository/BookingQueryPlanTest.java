@@ -0,0 +1,206 @@
+package com.aquaticket.aquaticketback.booking.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * db/migration 의 인덱스로 예매 핫 쿼리가 풀 스캔 없이 도는지 EXPLAIN 으로 확인한다.
+ * 로컬 MySQL 의 별도 스키마(plan.test.url)를 비우고 마이그레이션한 뒤 데이터를 채운다. 접속할 수 없으면 건너뛴다.
+ *
+ *   -Dplan.test.url=jdbc:mysql://localhost:3306/aquaticket_plan_test?createDatabaseIfNotExist=true
+ *   -Dplan.test.username=aqua -Dplan.test.password=aqua1234
+ */
+class BookingQueryPlanTest {
+
+    private static final String URL = System.getProperty("plan.test.url",
+            "jdbc:mysql://localhost:3306/aquaticket_plan_test?serverTimezone=Asia/Seoul&createDatabaseIfNotExist=true&rewriteBatchedStatements=true");
+    private static final String USERNAME = System.getProperty("plan.test.username", "aqua");
+    private static final String PASSWORD = System.getProperty("plan.test.password", "aqua1234");
+
+    private static final int SHOWTIMES = 200;
+    private static final int SEATS = 300;
+    private static final int USERS = 500;
+    private static final int RESERVATIONS = 5000;
+
+    /** EXPLAIN 한 줄 */
+    record PlanRow(String table, String type, String key, String extra) {}
+
+    private static Connection con;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        try {
+            con = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+        } catch (SQLException e) {
+            assumeTrue(false, "No local MySQL for plan tests: " + e.getMessage());
+        }
+        Flyway flyway = Flyway.configure().dataSource(URL, USERNAME, PASSWORD).cleanDisabled(false).load();
+        flyway.clean();
+        flyway.migrate();
+        seed();
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (con != null) con.close();
+    }
+
+    private static void seed() throws SQLException {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 19, 0);
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate("INSERT INTO venues (id, name) VALUES (1, 'plan-test')");
+            st.executeUpdate("INSERT INTO performances (id, kopis_id, title, venue_id) VALUES (1, 'PFPLAN', 'plan-test', 1)");
+            st.executeUpdate("INSERT INTO shows (id, kopis_id, performance_id, starts_at) VALUES (1, 'PFPLAN', 1, '2030-01-01 19:00:00')");
+        }
+        batch("INSERT INTO users (id, email, name, role) VALUES (?, ?, 'u', 'USER')", USERS,
+                (ps, i) -> { ps.setLong(1, i + 1); ps.setString(2, "u" + i + "@plan.test"); });
+        batch("INSERT INTO showtimes (id, kopis_id, show_id, start_at) VALUES (?, 'PFPLAN', 1, ?)", SHOWTIMES,
+                (ps, i) -> { ps.setLong(1, i + 1); ps.setTimestamp(2, Timestamp.valueOf(base.plusDays(i))); });
+        batch("INSERT INTO seats (id, venue_id, zone, row_label, seat_no, price) VALUES (?, 1, 'A', ?, ?, 50000)", SEATS,
+                (ps, i) -> { ps.setLong(1, i + 1); ps.setString(2, String.valueOf((char) ('A' + i / 20))); ps.setInt(3, i % 20 + 1); });
+        batch("INSERT INTO reservations (id, user_id, show_id, showtime_id, booking_number, status, total_price, confirmed_at) " +
+                        "VALUES (?, ?, 1, ?, ?, ?, 100000, ?)", RESERVATIONS,
+                (ps, i) -> {
+                    ps.setLong(1, i + 1);
+                    ps.setLong(2, i % USERS + 1);
+                    ps.setLong(3, i % SHOWTIMES + 1);
+                    ps.setString(4, "PLAN-" + i);
+                    ps.setString(5, i % 10 == 0 ? "CANCELLED" : "CONFIRMED");
+                    ps.setTimestamp(6, Timestamp.valueOf(base.minusDays(30)));
+                });
+        batch("INSERT INTO reservation_seats (reservation_id, seat_id, price) VALUES (?, ?, 50000)", RESERVATIONS * 2,
+                (ps, i) -> { ps.setLong(1, i / 2 + 1); ps.setLong(2, (i / 2 / SHOWTIMES * 2 + i % 2) % SEATS + 1); });
+        batch("INSERT INTO seat_locks (show_id, seat_id, reservation_id, locked_until) VALUES (1, ?, ?, ?)", RESERVATIONS,
+                (ps, i) -> {
+                    ps.setLong(1, i % SEATS + 1);
+                    ps.setLong(2, i + 1);
+                    ps.setTimestamp(3, Timestamp.valueOf(base.minusMinutes(RESERVATIONS - i)));
+                });
+        batch("INSERT INTO reservation_views (reservation_id, user_id, booking_number, performance_title, viewing_at, " +
+                        "booked_at, seat_count, total_price, status) VALUES (?, ?, ?, 'plan-test', ?, ?, 2, 100000, ?)", RESERVATIONS,
+                (ps, i) -> {
+                    ps.setLong(1, i + 1);
+                    ps.setLong(2, i % USERS + 1);
+                    ps.setString(3, "PLAN-" + i);
+                    ps.setTimestamp(4, Timestamp.valueOf(base.plusDays(i % SHOWTIMES)));
+                    ps.setTimestamp(5, Timestamp.valueOf(base.minusDays(30)));
+                    ps.setString(6, i % 10 == 0 ? "CANCELLED" : "CONFIRMED");
+                });
+        try (Statement st = con.createStatement()) {
+            st.execute("ANALYZE TABLE reservations, reservation_seats, seat_locks, showtimes, reservation_views");
+        }
+    }
+
+    interface Binder {
+        void bind(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    private static void batch(String sql, int count, Binder binder) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                binder.bind(ps, i);
+                ps.addBatch();
+                if (i % 1000 == 999) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static List<PlanRow> explain(String sql, Object... args) throws SQLException {
+        List<PlanRow> rows = new ArrayList<>();
+        try (PreparedStatement ps = con.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < args.length; i++) ps.setObject(i + 1, args[i]);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new PlanRow(rs.getString("table"), rs.getString("type"), rs.getString("key"), rs.getString("Extra")));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static PlanRow row(List<PlanRow> plan, String table) {
+        return plan.stream().filter(r -> table.equals(r.table())).findFirst()
+                .orElseThrow(() -> new AssertionError("No plan row for " + table + ": " + plan));
+    }
+
+    private static void assertNoFullScan(List<PlanRow> plan) {
+        for (PlanRow r : plan) {
+            assertNotEquals("ALL", r.type(), "full table scan on " + r.table() + ": " + plan);
+            assertNotEquals("index", r.type(), "full index scan on " + r.table() + ": " + plan);
+        }
+    }
+
+    private static void assertCovering(PlanRow r) {
+        assertTrue(r.extra() != null && r.extra().contains("Using index"), "not covering: " + r);
+    }
+
+    @Test
+    void seatIdsByShowtimeUsesCompositeAndCoveringIndexes() throws SQLException {
+        List<PlanRow> plan = explain("SELECT rs.seat_id FROM reservation_seats rs JOIN reservations r ON rs.reservation_id = r.id " +
+                "WHERE r.showtime_id = ? AND r.status = 'CONFIRMED'", 42L);
+        assertNoFullScan(plan);
+        assertEquals("idx_resv_showtime_status", row(plan, "r").key(), "plan: " + plan);
+        assertCovering(row(plan, "r"));
+        assertEquals("idx_rseat_resv_seat", row(plan, "rs").key(), "plan: " + plan);
+        assertCovering(row(plan, "rs"));
+    }
+
+    @Test
+    void activeLocksByShowUseCoveringRangeScan() throws SQLException {
+        List<PlanRow> plan = explain("SELECT id, show_id, seat_id, reservation_id, locked_until FROM seat_locks " +
+                "WHERE show_id = ? AND locked_until > ?", 1L, Timestamp.valueOf(LocalDateTime.of(2029, 12, 31, 23, 0)));
+        assertNoFullScan(plan);
+        PlanRow locks = row(plan, "seat_locks");
+        assertEquals("idx_lock_show_until", locks.key(), "plan: " + plan);
+        assertEquals("range", locks.type(), "plan: " + plan);
+        assertCovering(locks);
+    }
+
+    @Test
+    void reservationsByUserUseUserIndexWithoutSort() throws SQLException {
+        List<PlanRow> plan = explain("SELECT id FROM reservations WHERE user_id = ? AND id < ? ORDER BY id DESC LIMIT 21", 7L, 4000L);
+        assertNoFullScan(plan);
+        PlanRow r = row(plan, "reservations");
+        assertEquals("idx_resv_user_id", r.key(), "plan: " + plan);
+        assertFalse(r.extra() != null && r.extra().contains("filesort"), "sorts instead of reading index order: " + r);
+    }
+
+    // 화면용 예매 내역 (ReservationViewRepository.findHistory)
+    @Test
+    void historyReadsReservationViewsByUserIndexWithoutSort() throws SQLException {
+        List<PlanRow> plan = explain("SELECT reservation_id, performance_title, poster_url, viewing_at, booked_at, booking_number, " +
+                "total_price, status FROM reservation_views WHERE user_id = ? AND reservation_id < ? " +
+                "ORDER BY reservation_id DESC LIMIT 21", 7L, 4000L);
+        assertNoFullScan(plan);
+        PlanRow v = row(plan, "reservation_views");
+        assertEquals("idx_reservation_views_user", v.key(), "history does not use the user index: " + plan);
+        assertFalse(v.extra() != null && v.extra().contains("filesort"), "sorts instead of reading index order: " + v);
+    }
+
+    @Test
+    void showtimeByKopisIdAndStartAtIsUniqueLookup() throws SQLException {
+        List<PlanRow> plan = explain("SELECT id FROM showtimes WHERE kopis_id = ? AND start_at = ? LIMIT 1",
+                "PFPLAN", Timestamp.valueOf(LocalDateTime.of(2030, 1, 5, 19, 0)));
+        assertNoFullScan(plan);
+        PlanRow st = row(plan, "showtimes");
+        assertEquals("uk_showtimes_kopis_start", st.key(), "plan: " + plan);
+        assertEquals("const", st.type(), "plan: " + plan);
+    }
+}
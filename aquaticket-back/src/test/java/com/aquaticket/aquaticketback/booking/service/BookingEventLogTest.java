@@ -0,0 +1,105 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingEventLogTest {
+
+    @TempDir
+    Path dir;
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(BookingEventLog.Entry e) {
+        return new String(e.payload(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void appendsAndReadsFromOffset() {
+        try (BookingEventLog log = new BookingEventLog(dir, 4096, 0)) {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, log.append(bytes("event-" + i)));
+            }
+            log.flush();
+        }
+
+        List<BookingEventLog.Entry> entries = BookingEventLog.read(dir, 7, 100);
+        assertEquals(List.of(7L, 8L, 9L), entries.stream().map(BookingEventLog.Entry::offset).toList());
+        assertEquals("event-7", text(entries.get(0)));
+        assertEquals(2, BookingEventLog.read(dir, 0, 2).size());
+    }
+
+    @Test
+    void rollsSegmentsAndDropsOldOnes() throws Exception {
+        // 레코드 하나 = 16 + 8 바이트, 세그먼트당 4개
+        try (BookingEventLog log = new BookingEventLog(dir, 96, 2)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(bytes(String.format("event-%02d", i)));
+            }
+        }
+
+        List<Path> segments = BookingEventLog.segments(dir);
+        assertEquals(2, segments.size());
+        assertEquals(4, BookingEventLog.baseOffset(segments.get(0)));
+        assertEquals(8, BookingEventLog.baseOffset(segments.get(1)));
+        // 지워진 구간을 요청하면 남아 있는 것부터
+        assertEquals(4, BookingEventLog.read(dir, 0, 100).get(0).offset());
+        assertEquals(6, BookingEventLog.read(dir, 4, 100).size());
+    }
+
+    @Test
+    void reopenContinuesAfterLastValidRecordAndDropsTornTail() throws Exception {
+        try (BookingEventLog log = new BookingEventLog(dir, 4096, 0)) {
+            log.append(bytes("a"));
+            log.append(bytes("b"));
+        }
+        // 세 번째 레코드를 쓰다가 죽은 상황: length 는 있는데 payload/crc 가 맞지 않음
+        Path segment = BookingEventLog.segments(dir).get(0);
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, ch.size());
+            int pos = 2 * (BookingEventLog.HEADER_BYTES + 1);
+            buf.putInt(pos, 5);
+            buf.putInt(pos + 4, 12345);
+            buf.force();
+        }
+
+        try (BookingEventLog log = new BookingEventLog(dir, 4096, 0)) {
+            assertEquals(2, log.nextOffset());
+            assertEquals(2, log.append(bytes("c")));
+        }
+        List<BookingEventLog.Entry> entries = BookingEventLog.read(dir, 0, 100);
+        assertEquals(List.of("a", "b", "c"), entries.stream().map(BookingEventLogTest::text).toList());
+    }
+
+    @Test
+    void consumerKeepsItsOwnCommittedOffset() {
+        try (BookingEventLog log = new BookingEventLog(dir, 4096, 0)) {
+            for (int i = 0; i < 5; i++) log.append(bytes("e" + i));
+        }
+
+        BookingEventLogConsumer first = new BookingEventLogConsumer(dir, "first");
+        assertEquals(3, first.poll(3).size());
+        first.commit();
+        assertEquals(2, first.poll(10).size());
+        // 커밋하지 않은 위치는 다음 실행에서 다시 읽는다
+        BookingEventLogConsumer reopened = new BookingEventLogConsumer(dir, "first");
+        assertEquals(3, reopened.position());
+        assertEquals("e3", text(reopened.poll(1).get(0)));
+
+        BookingEventLogConsumer second = new BookingEventLogConsumer(dir, "second");
+        assertEquals(0, second.position());
+        second.seek(4);
+        assertEquals("e4", text(second.poll(10).get(0)));
+    }
+}
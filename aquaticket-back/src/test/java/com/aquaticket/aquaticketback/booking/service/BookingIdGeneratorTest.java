@@ -0,0 +1,87 @@
+package com.aquaticket.aquaticketback.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingIdGeneratorTest {
+
+    @Test
+    void idsIncreaseAndBookingNumbersSortTheSameWay() {
+        BookingIdGenerator generator = new BookingIdGenerator(7, 1);
+        long prevId = -1;
+        String prevNumber = "";
+        // 한 ms 의 순번(4096)을 넘겨도 계속 증가해야 한다
+        for (int i = 0; i < 20_000; i++) {
+            long id = generator.nextId();
+            String number = BookingIdGenerator.toBookingNumber(id);
+            assertTrue(id > prevId);
+            assertTrue(number.compareTo(prevNumber) > 0);
+            assertEquals(BookingIdGenerator.BOOKING_NUMBER_LENGTH, number.length());
+            prevId = id;
+            prevNumber = number;
+        }
+    }
+
+    @Test
+    void encodesNodeAndTimestamp() {
+        BookingIdGenerator generator = new BookingIdGenerator(1023, 1);
+        long id = generator.nextId();
+        assertEquals(1023, BookingIdGenerator.nodeOf(id));
+        assertTrue(Duration.between(BookingIdGenerator.timestampOf(id), Instant.now()).abs().toSeconds() < 5);
+    }
+
+    @Test
+    void bookingNumberRoundTrips() {
+        BookingIdGenerator generator = new BookingIdGenerator(3, 1);
+        for (int i = 0; i < 100; i++) {
+            String number = generator.nextBookingNumber();
+            assertEquals(number, BookingIdGenerator.toBookingNumber(BookingIdGenerator.parseBookingNumber(number)));
+            assertEquals(BookingIdGenerator.parseBookingNumber(number),
+                    BookingIdGenerator.parseBookingNumber(number.toLowerCase()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> BookingIdGenerator.parseBookingNumber("not-a-number"));
+        assertThrows(IllegalArgumentException.class, () -> BookingIdGenerator.parseBookingNumber("ZZZZZZZZZZZZZ"));
+    }
+
+    @Test
+    void uniqueAcrossThreads() throws Exception {
+        BookingIdGenerator generator = new BookingIdGenerator(0, 1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8, perThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) ids.add(generator.nextId());
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void rejectsOutOfRangeNode() {
+        assertThrows(IllegalArgumentException.class, () -> new BookingIdGenerator(1024, 1));
+    }
+
+    @Test
+    void requiresNodeIdWhenSeveralInstancesAreExpected() {
+        assertThrows(IllegalStateException.class, () -> new BookingIdGenerator(-1, 2));
+        assertEquals(5, BookingIdGenerator.nodeOf(new BookingIdGenerator(5, 2).nextId()));
+    }
+}
@@ -0,0 +1,131 @@
+package com.aquaticket.aquaticketback.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 블로킹 I/O(KOPIS 호출, JDBC)를 흉내 낸 요청으로 지금의 요청당 플랫폼 스레드(Tomcat 기본 200개)와
+ * 가상 스레드(spring.threads.virtual.enabled=true)의 처리량/지연(p50, p99)을 비교한다.
+ *
+ * 일반 test 에서는 빠지고 `gradle benchmark` 로만 돈다 (가상 스레드가 필요해서 Java 21 로 실행).
+ * 결과는 build/reports/benchmark/execution-mode.csv 에 남긴다.
+ */
+@Tag("benchmark")
+class ExecutionModeBenchmarkTest {
+
+    private static final int REQUESTS = 4_000;
+    private static final long IO_MILLIS = 20;
+    private static final int PLATFORM_THREADS = 200; // Tomcat 기본 max threads
+    private static final int ROUNDS = 3;
+
+    private record Result(String mode, long[] latencies, long elapsedNanos) {
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentileMs(double p) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+        }
+    }
+
+    @Test
+    void virtualThreadsOutperformThreadPerRequestOnBlockingIo() throws Exception {
+        assumeTrue(newVirtualExecutor() != null, "virtual threads need Java 21+ (run `gradle benchmark`)");
+
+        Result platform = best("platform-" + PLATFORM_THREADS, () -> Executors.newFixedThreadPool(PLATFORM_THREADS));
+        Result virtual = best("virtual", ExecutionModeBenchmarkTest::newVirtualExecutor);
+        Path report = writeReport(List.of(platform, virtual));
+
+        for (Result r : List.of(platform, virtual)) {
+            assertTrue(r.percentileMs(0.5) >= IO_MILLIS, r.mode() + " finished faster than its I/O: " + report);
+        }
+        // 플랫폼 풀은 동시에 200개까지만 기다릴 수 있어서 요청이 많으면 큐에서 기다린다
+        assertTrue(virtual.throughput() > platform.throughput(),
+                "virtual threads were not faster than the thread-per-request pool: " + report);
+        assertTrue(virtual.percentileMs(0.99) < platform.percentileMs(0.99),
+                "virtual threads had a worse p99 than the thread-per-request pool: " + report);
+    }
+
+    private interface ExecutorFactory {
+        ExecutorService create();
+    }
+
+    // 첫 라운드는 워밍업 겸. 라운드 중 처리량이 가장 좋은 결과
+    private static Result best(String mode, ExecutorFactory factory) throws Exception {
+        Result best = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            ExecutorService executor = factory.create();
+            try {
+                Result r = run(mode, executor);
+                if (best == null || r.throughput() > best.throughput()) best = r;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        return best;
+    }
+
+    private static Result run(String mode, ExecutorService executor) throws Exception {
+        long[] latencies = new long[REQUESTS];
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            int n = i;
+            long submitted = System.nanoTime();
+            futures.add(executor.submit(() -> {
+                sleepQuietly(IO_MILLIS);
+                latencies[n] = System.nanoTime() - submitted;
+            }));
+        }
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        return new Result(mode, latencies, System.nanoTime() - start);
+    }
+
+    private static Path writeReport(List<Result> results) throws IOException {
+        Path dir = Path.of(System.getProperty("benchmark.report.dir", "build/reports/benchmark"));
+        Files.createDirectories(dir);
+        StringBuilder csv = new StringBuilder("mode,requests,io_ms,elapsed_ms,throughput_per_s,p50_ms,p99_ms\n");
+        for (Result r : results) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.0f,%.1f,%.1f%n", r.mode(), r.latencies().length,
+                    IO_MILLIS, r.elapsedNanos() / 1e6, r.throughput(), r.percentileMs(0.5), r.percentileMs(0.99)));
+        }
+        Path file = dir.resolve("execution-mode.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    // Java 17 로 컴파일하므로 리플렉션으로 만든다
+    private static ExecutorService newVirtualExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.aquaticket.aquaticketback.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "H3f0b5Bv0pZ8Q2Rr7tN1xW4yV9aC6dP3sU1mK8jF5qT2zY7eL4bH9nR3cD6wX1";
+
+    private static JwtTokenProvider provider(long expirationMs, SimpleMeterRegistry registry) {
+        JwtTokenProvider p = new JwtTokenProvider(SECRET, expirationMs, 100, registry);
+        p.init();
+        return p;
+    }
+
+    @Test
+    void repeatedValidationUsesCachedClaims() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtTokenProvider p = provider(60_000, registry);
+        String token = p.createToken("a@b.c", "USER");
+
+        Claims first = p.validateToken(token);
+        Claims second = p.validateToken(token);
+
+        assertSame(first, second);
+        assertEquals("a@b.c", p.getSubject(token));
+        assertEquals("USER", p.getRole(token));
+        assertEquals(1.0, registry.get("jwt.verify.cache").tag("result", "miss").counter().count());
+        assertEquals(3.0, registry.get("jwt.verify.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void rejectsTamperedAndExpiredTokens() {
+        JwtTokenProvider p = provider(60_000, new SimpleMeterRegistry());
+        String token = p.createToken("a@b.c", "USER");
+        p.validateToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> p.validateToken(tampered));
+
+        JwtTokenProvider expired = provider(-1_000, new SimpleMeterRegistry());
+        assertThrows(ExpiredJwtException.class, () -> expired.validateToken(expired.createToken("a@b.c", "USER")));
+    }
+}
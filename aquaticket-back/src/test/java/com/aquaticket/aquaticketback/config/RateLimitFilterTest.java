@@ -0,0 +1,88 @@
+package com.aquaticket.aquaticketback.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private static RateLimitFilter filter() {
+        // login: 2 req / 60s, register: 2 req / 60s, confirm: 1 req / 60s, api: 100 req / 1s
+        return new RateLimitFilter(true, 1000, 600_000, 2, 60_000, 2, 60_000, 1, 60_000, 100, 1_000, new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletResponse call(RateLimitFilter f, String method, String uri, String ip) throws Exception {
+        return call(f, method, uri, ip, null);
+    }
+
+    private static MockHttpServletResponse call(RateLimitFilter f, String method, String uri, String ip, String warmupKey) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest(method, uri);
+        req.setRemoteAddr(ip);
+        if (warmupKey != null) req.addHeader(RateLimitFilter.WARMUP_HEADER, warmupKey);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        f.doFilter(req, res, new MockFilterChain());
+        return res;
+    }
+
+    @Test
+    void limitsLoginPerIpAndSetsRetryAfter() throws Exception {
+        RateLimitFilter f = filter();
+        assertEquals(200, call(f, "POST", "/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, call(f, "POST", "/api/auth/login", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse limited = call(f, "POST", "/api/auth/login", "10.0.0.1");
+        assertEquals(429, limited.getStatus());
+        int retryAfter = Integer.parseInt(limited.getHeader("Retry-After"));
+        assertTrue(retryAfter >= 1 && retryAfter <= 30);
+
+        // 다른 IP, 다른 정책은 영향 없음
+        assertEquals(200, call(f, "POST", "/api/auth/login", "10.0.0.2").getStatus());
+        assertEquals(200, call(f, "GET", "/api/kopis/pblprfr", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void ignoresPathsWithoutPolicy() throws Exception {
+        RateLimitFilter f = filter();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, call(f, "GET", "/actuator/health", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void registerHasItsOwnBudget() throws Exception {
+        RateLimitFilter f = filter();
+        assertEquals(200, call(f, "POST", "/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, call(f, "POST", "/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(429, call(f, "POST", "/api/auth/login", "10.0.0.1").getStatus());
+
+        // 로그인 한도를 다 써도 가입은 따로 센다
+        assertEquals(200, call(f, "POST", "/api/auth/register", "10.0.0.1").getStatus());
+        assertEquals(200, call(f, "POST", "/api/auth/register", "10.0.0.1").getStatus());
+        assertEquals(429, call(f, "POST", "/api/auth/register", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void warmupKeyBypassesOnlyFromLoopbackUntilClosed() throws Exception {
+        RateLimitFilter f = filter();
+        String key = f.warmupKey();
+        assertNotNull(key);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, call(f, "POST", "/api/auth/login", "127.0.0.1", key).getStatus());
+        }
+        // 키가 틀리거나 loopback 이 아니면 제한
+        assertEquals(200, call(f, "POST", "/api/auth/login", "10.0.0.1", key).getStatus());
+        assertEquals(200, call(f, "POST", "/api/auth/login", "10.0.0.1", key).getStatus());
+        assertEquals(429, call(f, "POST", "/api/auth/login", "10.0.0.1", key).getStatus());
+        assertEquals(200, call(f, "POST", "/api/auth/login", "127.0.0.1", "wrong").getStatus());
+        assertEquals(200, call(f, "POST", "/api/auth/login", "127.0.0.1", "wrong").getStatus());
+        assertEquals(429, call(f, "POST", "/api/auth/login", "127.0.0.1", "wrong").getStatus());
+
+        f.closeWarmup();
+        assertNull(f.warmupKey());
+        assertEquals(429, call(f, "POST", "/api/auth/login", "127.0.0.1", key).getStatus());
+    }
+}
@@ -0,0 +1,132 @@
+package com.aquaticket.aquaticketback.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationRoutingDataSourceTest {
+
+    /** getConnection 호출 수를 세는 가짜 DataSource. down 이면 SQLException */
+    static final class StubDataSource extends AbstractDataSource {
+        final String name;
+        volatile boolean down;
+        int connections;
+
+        StubDataSource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) throw new SQLException(name + " is down");
+            connections++;
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "isValid" -> !down;
+                        case "toString" -> name;
+                        default -> null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+
+    private final StubDataSource primary = new StubDataSource("primary");
+    private final StubDataSource replica1 = new StubDataSource("replica-1");
+    private final StubDataSource replica2 = new StubDataSource("replica-2");
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000, 100);
+
+    private ReplicationRoutingDataSource routing() {
+        return new ReplicationRoutingDataSource(primary,
+                List.of(new ReplicationRoutingDataSource.Replica("replica-1", replica1),
+                        new ReplicationRoutingDataSource.Replica("replica-2", replica2)),
+                tracker, 1, new SimpleMeterRegistry());
+    }
+
+    private static void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void clear() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writesAndNonTransactionalGoToPrimary() throws Exception {
+        ReplicationRoutingDataSource ds = routing();
+        ds.getConnection();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        ds.getConnection();
+        assertEquals(2, primary.connections);
+        assertEquals(0, replica1.connections + replica2.connections);
+    }
+
+    @Test
+    void readOnlyTransactionsAreSpreadOverReplicas() throws Exception {
+        ReplicationRoutingDataSource ds = routing();
+        readOnlyTransaction();
+        for (int i = 0; i < 4; i++) ds.getConnection();
+        assertEquals(0, primary.connections);
+        assertEquals(2, replica1.connections);
+        assertEquals(2, replica2.connections);
+    }
+
+    @Test
+    void fallsBackWhenReplicaFailsAndRecoversAfterHealthCheck() throws Exception {
+        ReplicationRoutingDataSource ds = routing();
+        readOnlyTransaction();
+        replica1.down = true;
+        replica2.down = true;
+
+        ds.getConnection();
+        ds.getConnection();
+        assertEquals(2, primary.connections);
+
+        // 둘 다 down 으로 표시됐으므로 더는 replica 를 시도하지 않는다
+        replica1.down = false;
+        ds.getConnection();
+        assertEquals(3, primary.connections);
+        assertEquals(0, replica1.connections);
+
+        ds.checkReplicas();
+        int before = replica1.connections;
+        ds.getConnection();
+        assertEquals(3, primary.connections);
+        assertEquals(before + 1, replica1.connections);
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromPrimary() throws Exception {
+        ReplicationRoutingDataSource ds = routing();
+        AuthUser user = new AuthUser(1L, "a@test.com", "USER", null, null);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        tracker.markWrite(user.getName());
+
+        readOnlyTransaction();
+        ds.getConnection();
+        assertEquals(1, primary.connections);
+
+        SecurityContextHolder.clearContext();
+        ds.getConnection();
+        assertEquals(1, primary.connections);
+        assertEquals(1, replica1.connections + replica2.connections);
+    }
+}
@@ -0,0 +1,63 @@
+package com.aquaticket.aquaticketback.kopis;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DtguidanceParserTest {
+
+    @Test
+    void parsesRangesAndSingleDays() {
+        Map<DayOfWeek, List<LocalTime>> s = DtguidanceParser.parse("화요일 ~ 금요일(20:00), 토요일(15:00,19:00)");
+
+        assertEquals(5, s.size());
+        assertEquals(List.of(LocalTime.of(20, 0)), s.get(DayOfWeek.TUESDAY));
+        assertEquals(List.of(LocalTime.of(20, 0)), s.get(DayOfWeek.FRIDAY));
+        assertEquals(List.of(LocalTime.of(15, 0), LocalTime.of(19, 0)), s.get(DayOfWeek.SATURDAY));
+        assertNull(s.get(DayOfWeek.MONDAY));
+        assertNull(s.get(DayOfWeek.SUNDAY));
+    }
+
+    @Test
+    void ignoresHolidaysAndMergesDuplicateDays() {
+        Map<DayOfWeek, List<LocalTime>> s =
+                DtguidanceParser.parse("토요일 ~ 일요일(14:00,18:00), 일요일(11:00), HOL(14:00)");
+
+        assertEquals(2, s.size());
+        assertEquals(List.of(LocalTime.of(11, 0), LocalTime.of(14, 0), LocalTime.of(18, 0)), s.get(DayOfWeek.SUNDAY));
+    }
+
+    @Test
+    void wrapsAroundWeek() {
+        Map<DayOfWeek, List<LocalTime>> s = DtguidanceParser.parse("금요일 ~ 월요일(19:30)");
+        assertEquals(4, s.size());
+        assertTrue(s.containsKey(DayOfWeek.MONDAY));
+        assertFalse(s.containsKey(DayOfWeek.TUESDAY));
+    }
+
+    @Test
+    void expandsWithinPeriod() {
+        // 2025-10-14 화 ~ 2025-10-19 일
+        List<LocalDateTime> slots = DtguidanceParser.expand("화요일 ~ 금요일(20:00), 토요일(15:00,19:00)",
+                DtguidanceParser.parseDate("2025.10.14"), DtguidanceParser.parseDate("2025.10.19"));
+
+        assertEquals(6, slots.size());
+        assertEquals(LocalDateTime.of(2025, 10, 14, 20, 0), slots.get(0));
+        assertEquals(LocalDateTime.of(2025, 10, 18, 19, 0), slots.get(5));
+    }
+
+    @Test
+    void unparseableInputGivesNothing() {
+        assertTrue(DtguidanceParser.parse(null).isEmpty());
+        assertTrue(DtguidanceParser.parse("공연 시간 추후 공지").isEmpty());
+        assertTrue(DtguidanceParser.expand("월요일(19:00)", LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 1)).isEmpty());
+        assertNull(DtguidanceParser.parseDate("미정"));
+    }
+}
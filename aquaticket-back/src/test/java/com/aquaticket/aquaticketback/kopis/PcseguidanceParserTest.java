@@ -0,0 +1,47 @@
+package com.aquaticket.aquaticketback.kopis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PcseguidanceParserTest {
+
+    @Test
+    void parsesCommonFormatsOnFastPath() {
+        assertNotNull(PcseguidanceParser.parseFast("R석 198,000원, S석 154,000원"));
+
+        List<PcseguidanceParser.Tier> tiers = PcseguidanceParser.parse("R석 198,000원, S석 154,000원");
+        assertEquals(List.of(
+                new PcseguidanceParser.Tier("R석", 198000, 198000),
+                new PcseguidanceParser.Tier("S석", 154000, 154000)), tiers);
+
+        assertEquals(List.of(new PcseguidanceParser.Tier("전석", 30000, 30000)),
+                PcseguidanceParser.parse("전석 30000"));
+        assertEquals(List.of(new PcseguidanceParser.Tier("A석", 10000, 20000)),
+                PcseguidanceParser.parse("A석 10,000 ~ 20,000원"));
+    }
+
+    @Test
+    void fallsBackToRegexForUnusualFormats() {
+        assertNull(PcseguidanceParser.parseFast("R석 198,000원(VAT포함), S석 10,000원"));
+
+        List<PcseguidanceParser.Tier> tiers = PcseguidanceParser.parse("R석 198,000원(VAT포함), S석 10,000원");
+        assertEquals(2, tiers.size());
+        assertEquals(198000, tiers.get(0).maxWon());
+        assertEquals("S석", tiers.get(1).grade());
+    }
+
+    @Test
+    void returnsEmptyWhenNoPrice() {
+        assertTrue(PcseguidanceParser.parse(null).isEmpty());
+        assertTrue(PcseguidanceParser.parse("전석무료").isEmpty());
+    }
+
+    @Test
+    void formatsForDisplay() {
+        assertEquals("198,000원", PcseguidanceParser.format(198000, 198000));
+        assertEquals("10,000~20,000원", PcseguidanceParser.format(10000, 20000));
+    }
+}
@@ -0,0 +1,90 @@
+package com.aquaticket.aquaticketback.service;
+
+import com.aquaticket.aquaticketback.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private static ThreadPoolTaskExecutor executor(int threads, int queue) {
+        ThreadPoolTaskExecutor e = new ThreadPoolTaskExecutor();
+        e.setCorePoolSize(threads);
+        e.setMaxPoolSize(threads);
+        e.setQueueCapacity(queue);
+        e.initialize();
+        return e;
+    }
+
+    @Test
+    void hashesAndDetectsLowerCost() {
+        ThreadPoolTaskExecutor e = executor(2, 4);
+        try {
+            PasswordHashingService oldCost = new PasswordHashingService(new BCryptPasswordEncoder(4), e, 5000, new SimpleMeterRegistry());
+            PasswordHashingService newCost = new PasswordHashingService(new BCryptPasswordEncoder(5), e, 5000, new SimpleMeterRegistry());
+
+            String hash = oldCost.encode("secret");
+            assertTrue(newCost.matches("secret", hash));
+            assertFalse(newCost.matches("wrong", hash));
+            assertFalse(oldCost.needsRehash(hash));
+            assertTrue(newCost.needsRehash(hash));
+        } finally {
+            e.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        ThreadPoolTaskExecutor e = executor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(4), e, 5000, registry);
+            // 스레드 1개 + 큐 1칸을 채운다
+            e.execute(() -> awaitQuietly(release));
+            e.execute(() -> awaitQuietly(release));
+
+            assertThrows(PasswordHashingBusyException.class, () -> service.encode("secret"));
+            assertEquals(1.0, registry.get("password.hash.rejected").counter().count());
+        } finally {
+            release.countDown();
+            e.shutdown();
+        }
+    }
+
+    @Test
+    void timedOutTaskIsDequeuedAndNeverHashes() throws Exception {
+        ThreadPoolTaskExecutor e = executor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(4), e, 50, registry);
+            e.execute(() -> awaitQuietly(release));
+
+            assertThrows(PasswordHashingBusyException.class, () -> service.encode("secret"));
+            assertTrue(e.getThreadPoolExecutor().getQueue().isEmpty());
+
+            release.countDown();
+            e.shutdown();
+            assertTrue(e.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(0, registry.get("password.hash").tag("op", "encode").timer().count());
+        } finally {
+            release.countDown();
+            e.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
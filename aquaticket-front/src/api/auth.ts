@@ -29,6 +29,7 @@ export type RegisterPayload = {
 
 /** ===== Token helpers ===== */
 const TOKEN_KEY = "accessToken";
+const REFRESH_TOKEN_KEY = "refreshToken";
 const LEGACY_AUTH_KEYS = ["user", "userId", "userName", "token", "kakaoAccessToken"];
 
 export function getToken(): string | null {
@@ -39,6 +40,13 @@ export function setToken(token: string): void {
 }
 export function clearToken(): void {
   localStorage.removeItem(TOKEN_KEY);
+  localStorage.removeItem(REFRESH_TOKEN_KEY);
+}
+export function getRefreshToken(): string | null {
+  return localStorage.getItem(REFRESH_TOKEN_KEY);
+}
+export function setRefreshToken(token: string): void {
+  localStorage.setItem(REFRESH_TOKEN_KEY, token);
 }
 function clearLegacyAuthArtifacts(): void {
   LEGACY_AUTH_KEYS.forEach((k) => localStorage.removeItem(k));
@@ -62,9 +70,21 @@ export async function fetchMe(): Promise<Me> {
 
 
 
-export function logout(): void {
-  clearToken();
-  clearLegacyAuthArtifacts();
+export async function logout(): Promise<void> {
+  // 토큰을 지우기 전에 서버 쪽 폐기 요청이 끝나야 한다 (요청 인터셉터는 비동기로 토큰을 읽는다)
+  // 서버 쪽 토큰 폐기는 실패해도 로컬 로그아웃은 진행
+  const accessToken = getToken();
+  const refreshToken = getRefreshToken();
+  try {
+    await api.post("/api/auth/logout", refreshToken ? { refreshToken } : {}, {
+      headers: accessToken ? { Authorization: `Bearer ${accessToken}` } : undefined,
+    });
+  } catch {
+    // 무시
+  } finally {
+    clearToken();
+    clearLegacyAuthArtifacts();
+  }
 }
 
 /** 회원가입 */
@@ -93,6 +113,7 @@ export async function loginByEmail(payload: LoginPayload): Promise<void> {
     if (!token) throw new Error("토큰이 없습니다. 로그인 실패");
 
     setToken(token); // ✅ 한곳에서만 저장
+    if (res.data?.refreshToken) setRefreshToken(res.data.refreshToken);
   } catch (err: unknown) {
     if (isAxiosError(err)) {
       const st = err.response?.status;
@@ -3,6 +3,7 @@ import axios, { AxiosError, AxiosHeaders } from "axios";
 import type { InternalAxiosRequestConfig, AxiosResponse } from "axios";
 
 export const TOKEN_KEY = "accessToken";
+const REFRESH_TOKEN_KEY = "refreshToken";
 const LOGOUT_BROADCAST_KEY = "auth:loggedOut";
 
 // 디폴트: 개발프록시(/api → 8080) 쓰면 "/" 권장.
@@ -17,14 +18,45 @@ type RequestConfig401 = InternalAxiosRequestConfig & {
   __handled401?: boolean;
   /** 이 요청에 한해 401 자동 리다이렉트 방지 */
   skip401Redirect?: boolean;
+  /** 토큰 갱신 후 다시 보낸 요청 */
+  __retriedAfterRefresh?: boolean;
 };
 
+// 액세스 토큰이 만료되면 리프레시 토큰으로 한 번 갱신 (동시에 여러 요청이 401 이어도 갱신은 한 번만)
+const NO_REFRESH: RegExp[] = [/^\/api\/auth\/(login|register|refresh|logout)\b/];
+let refreshing: Promise<string | null> | null = null;
+
+function refreshAccessToken(): Promise<string | null> {
+  if (refreshing) return refreshing;
+  const refreshToken = localStorage.getItem(REFRESH_TOKEN_KEY);
+  if (!refreshToken) return Promise.resolve(null);
+
+  refreshing = api
+    .post("/api/auth/refresh", { refreshToken }, { skip401Redirect: true } as RequestConfig401)
+    .then((res) => {
+      const { accessToken, refreshToken: next } = res.data ?? {};
+      if (!accessToken) return null;
+      localStorage.setItem(TOKEN_KEY, accessToken);
+      if (next) localStorage.setItem(REFRESH_TOKEN_KEY, next);
+      return accessToken as string;
+    })
+    .catch(() => {
+      localStorage.removeItem(REFRESH_TOKEN_KEY);
+      return null;
+    })
+    .finally(() => {
+      refreshing = null;
+    });
+  return refreshing;
+}
+
 // 예매 플로우는 자동리다이렉트 금지(페이지에서 직접 처리)
 // 필요한 엔드포인트를 여기에 추가
 const NO_REDIRECT_401: RegExp[] = [
   /^\/api\/booking\/showtimes\//, // 좌석 가용성 조회, 회차 보장
   /^\/api\/bookings\/hold\b/, // 홀드
   /^\/api\/bookings\/confirm\b/, // 예매 확정
+  /^\/api\/auth\/logout\b/, // 로그아웃 (토큰이 만료됐어도 로컬 로그아웃은 호출부에서 진행)
 ];
 
 // 전역 스위치(디버깅 시 false로 꺼두면 401에서도 리다이렉트 안 함)
@@ -39,9 +71,22 @@ function buildNextParam(): string {
   return encodeURIComponent(`${pathname}${search}${hash}`);
 }
 
-// === 요청 인터셉터: 토큰 부착 ===
-api.interceptors.request.use((config: InternalAxiosRequestConfig) => {
-  const token = localStorage.getItem(TOKEN_KEY);
+// 액세스 토큰 exp(초)가 30초 안에 끝나면 true. 형식이 이상하면 서버 판단(401)에 맡긴다
+function expiresSoon(token: string): boolean {
+  try {
+    const payload = JSON.parse(atob(token.split(".")[1].replace(/-/g, "+").replace(/_/g, "/")));
+    return typeof payload.exp === "number" && payload.exp * 1000 < Date.now() + 30_000;
+  } catch {
+    return false;
+  }
+}
+
+// === 요청 인터셉터: 토큰 부착 (만료 직전이면 먼저 갱신) ===
+api.interceptors.request.use(async (config: InternalAxiosRequestConfig) => {
+  let token = localStorage.getItem(TOKEN_KEY);
+  if (token && expiresSoon(token) && !NO_REFRESH.some((re) => re.test(config.url ?? ""))) {
+    token = (await refreshAccessToken()) ?? token;
+  }
   console.log("[Axios Request Debug]", {
     url: config.url,
     method: config.method,
@@ -58,7 +103,7 @@ api.interceptors.request.use((config: InternalAxiosRequestConfig) => {
 // === 응답 인터셉터: 401 공통 처리(선택적) ===
 api.interceptors.response.use(
   (res: AxiosResponse) => res,
-  (err: AxiosError) => {
+  async (err: AxiosError) => {
     const res = err.response;
     if (!res) return Promise.reject(err);
 
@@ -66,6 +111,16 @@ api.interceptors.response.use(
     const cfg = (err.config ?? {}) as RequestConfig401;
     const url = cfg.url ?? "";
 
+    if (status === 401 && !cfg.__retriedAfterRefresh && !NO_REFRESH.some((re) => re.test(url))) {
+      const token = await refreshAccessToken();
+      if (token) {
+        cfg.__retriedAfterRefresh = true;
+        cfg.headers = AxiosHeaders.from(cfg.headers);
+        cfg.headers.set("Authorization", `Bearer ${token}`);
+        return api(cfg);
+      }
+    }
+
     if (status === 401 && !cfg.__handled401) {
       cfg.__handled401 = true;
 
@@ -84,6 +139,7 @@ api.interceptors.response.use(
       if (shouldRedirect) {
         // 1) 토큰 제거
         localStorage.removeItem(TOKEN_KEY);
+        localStorage.removeItem(REFRESH_TOKEN_KEY);
         // 2) 다른 탭 동기화
         localStorage.setItem(LOGOUT_BROADCAST_KEY, Date.now().toString());
         // 3) 로그인으로(next 포함)
@@ -63,6 +63,35 @@ export async function ensureShowtime(kopisId: string, startAt: string): Promise<
   return res.data.showtimeId;
 }
 
+/**
+ * 여러 회차를 한 번에 보장 (달력 등). 요청 한 번으로 kopisId → (startAt → showtimeId) 를 받는다.
+ * startAt 키는 보낸 문자열 그대로 돌아온다.
+ */
+export async function ensureShowtimes(
+  items: { kopisId: string; startAt: string }[]
+): Promise<Record<string, Record<string, number>>> {
+  const res = await api.post<{ showtimeIds: Record<string, Record<string, number>> }>(
+    "/api/booking/showtimes/ensure-batch",
+    { items }
+  );
+  return res.data.showtimeIds;
+}
+
+/** 선택한 날짜의 회차 (KOPIS 공연 일정으로 미리 만들어 둔 것) */
+export interface ShowtimeSlot {
+  showtimeId: number;
+  startAt: string; // "2025-10-20T19:00"
+  time: string;    // "19:00"
+}
+
+export async function fetchShowtimes(kopisId: string, date: string): Promise<ShowtimeSlot[]> {
+  const res = await api.get<ShowtimeSlot[]>(
+    `/api/booking/performances/${encodeURIComponent(kopisId)}/showtimes`,
+    { params: { date } }
+  );
+  return res.data;
+}
+
 export type Booking = {
   bookingId: number;
   posterUrl: string;
@@ -79,6 +108,29 @@ export async function fetchMyBookings(): Promise<Booking[]> {
   return res.data;
 }
 
+export type BookingHistoryPage = {
+  items: Booking[];
+  /** 다음 페이지 요청 시 cursor 로 넘긴다. null 이면 마지막 페이지 */
+  nextCursor: number | null;
+};
+
+export type BookingHistoryQuery = {
+  cursor?: number | null;
+  size?: number;
+  status?: string; // "CONFIRMED" | "CANCELLED"
+  from?: string;   // "2025-10-01" (관람일 기준)
+  to?: string;
+};
+
+/** 예매 내역 (최신순, 커서 페이지) */
+export async function fetchBookingHistory(query: BookingHistoryQuery = {}): Promise<BookingHistoryPage> {
+  const { cursor, ...rest } = query;
+  const res = await api.get<BookingHistoryPage>("/api/booking/me/history", {
+    params: { ...rest, ...(cursor != null ? { cursor } : {}) },
+  });
+  return res.data;
+}
+
 export async function cancelBooking(bookingId: number): Promise<void> {
   await api.post(`/api/booking/${bookingId}/cancel`);
 }
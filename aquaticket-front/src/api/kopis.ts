@@ -1,8 +1,8 @@
 // src/api/kopis.ts
 import { http } from "./http";
-import type { KopisListItem, KopisDetailRaw, KopisPriceItem } from "./kopis.types";
+import type { KopisListItem, KopisDetailRaw, KopisPriceItem, KopisEnrichedItem } from "./kopis.types";
 
-export type { KopisListItem, KopisDetailRaw, KopisPriceItem } from "./kopis.types";
+export type { KopisListItem, KopisDetailRaw, KopisPriceItem, KopisEnrichedItem } from "./kopis.types";
 
 /**
  * 주어진 Date 객체를 'YYYYMMDD' 형식의 문자열로 포맷합니다.
@@ -44,6 +44,27 @@ export async function fetchPerformances(
   return Array.isArray(data) ? data : [];
 }
 
+/* =========================
+   공연 목록 + 상세/가격 (카드마다 상세/가격을 따로 부르지 않도록 한 번에)
+   ========================= */
+// 백엔드 → GET /api/kopis/pblprfr/enriched?stdate&eddate&cpage&rows
+export async function fetchEnrichedPerformances(
+  stdate: string,
+  eddate: string,
+  cpage = "1",
+  rows = "50",
+  shprfnm?: string
+): Promise<KopisEnrichedItem[]> {
+  const params: PerformanceRequestParams = { stdate, eddate, cpage, rows };
+  if (shprfnm) {
+    params.shprfnm = shprfnm;
+  }
+  const { data } = await http.get<KopisEnrichedItem[]>("/kopis/pblprfr/enriched", {
+    params,
+  });
+  return Array.isArray(data) ? data : [];
+}
+
 /* =========================
    공연 상세
    ========================= */
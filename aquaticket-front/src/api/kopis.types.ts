@@ -13,6 +13,19 @@ export interface KopisListItem {
   area?: string;
 }
 
+/** 목록 + 상세/가격 (GET /api/kopis/pblprfr/enriched) */
+export interface KopisEnrichedItem extends KopisListItem {
+  prfcast?: string;
+  prfruntime?: string;
+  prfage?: string;
+  dtguidance?: string;
+  prices: KopisPriceItem[];
+  minPrice?: number | null;
+  maxPrice?: number | null;
+  /** 마감 시간 안에 상세/가격을 받았는지 (false 면 목록 필드만 있음) */
+  enriched: boolean;
+}
+
 /** 상세(원본 Raw) */
 export interface KopisDetailRaw extends KopisListItem {
   mt10id?: string;
@@ -0,0 +1,11 @@
+// src/api/poster.ts
+// KOPIS 이미지를 백엔드 포스터 캐시(/api/posters)를 통해 불러온다.
+
+export type PosterSize = "thumb" | "medium" | "original";
+
+export function posterSrc(url: string | undefined | null, size: PosterSize = "original"): string {
+  if (!url) return "";
+  // KOPIS 이미지가 아니면 그대로 사용
+  if (!/^https?:\/\/([a-z0-9-]+\.)*kopis\.or\.kr\//i.test(url)) return url;
+  return `/api/posters?url=${encodeURIComponent(url)}&size=${size}`;
+}
@@ -46,9 +46,9 @@ export default function Header() {
 
   const handleClickLogin = () => navigate("/login");
 
-  const handleClickLogout = () => {
-    // 1) 토큰 제거
-    logout();
+  const handleClickLogout = async () => {
+    // 1) 서버 쪽 토큰 폐기 후 토큰 제거
+    await logout();
     setMe(null);
 
     // 2) 토스트 먼저 띄우고
@@ -1,6 +1,7 @@
 import React from "react";
 import { Link } from "react-router-dom";
 import type { Booking } from "@/api/booking";
+import { posterSrc } from "@/api/poster";
 
 interface BookingItemProps {
   booking: Booking;
@@ -19,7 +20,7 @@ const BookingItem: React.FC<BookingItemProps> = ({ booking }) => {
       <div className="rounded-lg px-4 py-4 hover:bg-gray-100/60 transition">
         <div className="flex gap-4">
           <img
-            src={booking.posterUrl}
+            src={posterSrc(booking.posterUrl, "thumb")}
             alt={booking.performanceTitle}
             className="h-24 w-20 rounded-md object-cover ring-1 ring-gray-200"
           />
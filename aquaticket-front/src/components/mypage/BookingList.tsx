@@ -1,5 +1,6 @@
 import { useEffect, useState } from "react";
-import { fetchMyBookings, cancelBooking, type Booking } from "@/api/booking";
+import { fetchBookingHistory, cancelBooking, type Booking } from "@/api/booking";
+import { posterSrc } from "@/api/poster";
 import toast from "react-hot-toast";
 import axios from "axios";
 
@@ -20,17 +21,22 @@ function StatusBadge({ status }: { status: string }) {
   );
 }
 
+const PAGE_SIZE = 10;
+
 const BookingList = () => {
   const [bookings, setBookings] = useState<Booking[]>([]);
+  const [nextCursor, setNextCursor] = useState<number | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
 
   useEffect(() => {
     const loadBookings = async () => {
       try {
         setLoading(true);
-        const data = await fetchMyBookings();
-        setBookings(data);
+        const page = await fetchBookingHistory({ size: PAGE_SIZE });
+        setBookings(page.items);
+        setNextCursor(page.nextCursor);
       } catch (err) {
         setError("예매 내역을 불러오는데 실패했습니다.");
         console.error(err);
@@ -41,6 +47,21 @@ const BookingList = () => {
     loadBookings();
   }, []);
 
+  const handleLoadMore = async () => {
+    if (nextCursor == null || loadingMore) return;
+    try {
+      setLoadingMore(true);
+      const page = await fetchBookingHistory({ cursor: nextCursor, size: PAGE_SIZE });
+      setBookings((prev) => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      toast.error("예매 내역을 더 불러오지 못했습니다.");
+      console.error(err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleCancel = async (bookingId: number) => {
     if (!window.confirm("정말로 예매를 취소하시겠습니까?")) {
       return;
@@ -69,9 +90,11 @@ const BookingList = () => {
         <h2 className="text-[15px] font-bold text-gray-900">최근 예매/취소</h2>
         <button
           type="button"
-          className="text-[12px] text-gray-500 hover:text-emerald-600 transition"
+          onClick={handleLoadMore}
+          disabled={nextCursor == null || loadingMore}
+          className="text-[12px] text-gray-500 hover:text-emerald-600 disabled:text-gray-300 disabled:cursor-default transition"
         >
-          더보기 &gt;
+          {loadingMore ? "불러오는 중..." : <>더보기 &gt;</>}
         </button>
       </div>
 
@@ -119,7 +142,7 @@ const BookingList = () => {
                   <div className="flex gap-3">
                     {/* 포스터 */}
                     <img
-                      src={b.posterUrl}
+                      src={posterSrc(b.posterUrl, "thumb")}
                       alt={b.performanceTitle}
                       className="w-16 h-20 object-cover rounded shrink-0 ring-1 ring-gray-200"
                     />
@@ -2,6 +2,7 @@
 import { useEffect, useState } from "react";
 import { Link, useParams } from "react-router-dom";
 import { fetchPerformances, type KopisListItem, formatDate } from "../api/kopis";
+import { posterSrc } from "../api/poster";
 import "../css/performance-list.css";
 
 // genreFilterMap: For filtering API data
@@ -67,7 +68,7 @@ export default function CategoryList() {
       <div className="grid">
         {items.map((it) => (
           <Link key={it.mt20id} to={`/performances/${it.mt20id}`} className="card">
-            <img src={it.poster} alt={it.prfnm} />
+            <img src={posterSrc(it.poster, "medium")} alt={it.prfnm} />
             <div className="meta">
               <div className="name">{it.prfnm}</div>
               <div className="sub">
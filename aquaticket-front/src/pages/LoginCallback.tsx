@@ -1,7 +1,7 @@
 // src/pages/LoginCallback.tsx
 import { useEffect, useMemo } from "react";
 import { useNavigate, useLocation } from "react-router-dom";
-import { setToken } from "@/api/auth";
+import { setRefreshToken, setToken } from "@/api/auth";
 
 function getParam(name: string, search: string, hash: string) {
   const q = new URLSearchParams(search).get(name);
@@ -28,12 +28,13 @@ export default function LoginCallback() {
   const navigate = useNavigate();
   const { search, hash } = useLocation();
 
-  const { token, next, oauthError, oauthErrorDesc } = useMemo(() => {
+  const { token, refreshToken, next, oauthError, oauthErrorDesc } = useMemo(() => {
     const token = getParam("token", search, hash);
+    const refreshToken = getParam("refreshToken", search, hash);
     const next = getParam("next", search, hash);
     const oauthError = getParam("error", search, hash);
     const oauthErrorDesc = getParam("error_description", search, hash);
-    return { token, next, oauthError, oauthErrorDesc };
+    return { token, refreshToken, next, oauthError, oauthErrorDesc };
   }, [search, hash]);
 
   useEffect(() => {
@@ -49,6 +50,7 @@ export default function LoginCallback() {
         console.warn("Unexpected token format");
       }
       setToken(token);
+      if (refreshToken) setRefreshToken(refreshToken);
       localStorage.setItem(LOGIN_BROADCAST_KEY, Date.now().toString());
       window.history.replaceState({}, "", "/login/callback");
 
@@ -59,7 +61,7 @@ export default function LoginCallback() {
       window.history.replaceState({}, "", "/login");
       navigate("/login", { replace: true });
     }
-  }, [token, next, oauthError, oauthErrorDesc, navigate]);
+  }, [token, refreshToken, next, oauthError, oauthErrorDesc, navigate]);
 
   return <div style={{ padding: 24 }}>로그인 처리 중…</div>;
 }
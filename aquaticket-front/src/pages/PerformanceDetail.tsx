@@ -12,6 +12,8 @@ import {
   type KopisDetailRaw,
   type KopisPriceItem,
 } from "@/api/kopis";
+import { posterSrc } from "@/api/poster";
+import { fetchShowtimes } from "@/api/booking";
 import KakaoMap from "@/components/maps/KakaoMap";
 
 import useBookingStore from "@/stores/useBookingStore";
@@ -31,6 +33,7 @@ export default function PerformanceDetail() {
   const [prices, setPrices] = useState<KopisPriceItem[]>([]);
   const [selectedDate, setSelectedDate] = useState<CalValue>(null);
   const [selectedTime, setSelectedTime] = useState<string | null>(null);
+  const [scheduledTimes, setScheduledTimes] = useState<string[]>([]);
   const [loading, setLoading] = useState(true);
 
   // ✅ 탭 상태 추가
@@ -66,10 +69,29 @@ export default function PerformanceDetail() {
     };
   }, [id, setPerformanceInfo, setPriceInfo]);
 
+  // 선택한 날짜의 회차 (공연 일정으로 미리 만들어진 회차, 아직 없으면 기본 시간)
+  useEffect(() => {
+    if (!id || !selectedDate) return;
+    let alive = true;
+    const y = selectedDate.getFullYear();
+    const m = String(selectedDate.getMonth() + 1).padStart(2, "0");
+    const d = String(selectedDate.getDate()).padStart(2, "0");
+    fetchShowtimes(id, `${y}-${m}-${d}`)
+      .then((list) => {
+        if (alive) setScheduledTimes(list.map((s) => s.time));
+      })
+      .catch(() => {
+        if (alive) setScheduledTimes([]);
+      });
+    return () => {
+      alive = false;
+    };
+  }, [id, selectedDate]);
+
   const timeSlots: string[] = useMemo(() => {
     if (!selectedDate) return [];
-    return ["14:00", "19:00"];
-  }, [selectedDate]);
+    return scheduledTimes.length > 0 ? scheduledTimes : ["14:00", "19:00"];
+  }, [selectedDate, scheduledTimes]);
 
   const { minDate, maxDate } = useMemo(() => {
     if (!detail) return { minDate: undefined, maxDate: undefined };
@@ -196,7 +218,7 @@ export default function PerformanceDetail() {
       {/* 상단 포스터 및 기본 정보 섹션 */}
       <section className="melon-detail-header">
         <div className="melon-poster-area">
-          <img src={detail.poster} alt={detail.prfnm} />
+          <img src={posterSrc(detail.poster)} alt={detail.prfnm} />
         </div>
         <div className="melon-info-area">
           <h1 className="melon-title">{title}</h1>
@@ -319,7 +341,7 @@ export default function PerformanceDetail() {
               <div className="introGrid">
                 {Array.isArray(detail.styurls) && detail.styurls.length > 0 ? (
                   detail.styurls.map((url, i) => (
-                    <img key={i} className="introImg" src={url} alt={`소개 ${i + 1}`} />
+                    <img key={i} className="introImg" src={posterSrc(url)} alt={`소개 ${i + 1}`} />
                   ))
                 ) : (
                   <p className="no-content">소개 이미지가 없습니다.</p>
@@ -1,11 +1,17 @@
 // src/pages/PerformanceList.tsx
 import { useEffect, useState } from "react";
 import { Link } from "react-router-dom";
-import { fetchPerformances, type KopisListItem, formatDate } from "../api/kopis";
+import {
+  fetchEnrichedPerformances,
+  fetchPerformances,
+  type KopisEnrichedItem,
+  formatDate,
+} from "../api/kopis";
+import { posterSrc } from "../api/poster";
 import "../css/performance-list.css";
 
 export default function PerformanceList() {
-  const [items, setItems] = useState<KopisListItem[]>([]);
+  const [items, setItems] = useState<KopisEnrichedItem[]>([]);
   const [loading, setLoading] = useState(true);
 
   useEffect(() => {
@@ -22,7 +28,13 @@ export default function PerformanceList() {
         const stdate = formatDate(threeMonthsAgo);
         const eddate = formatDate(oneYearLater);
 
-        const list = await fetchPerformances(stdate, eddate);
+        let list: KopisEnrichedItem[];
+        try {
+          list = await fetchEnrichedPerformances(stdate, eddate);
+        } catch {
+          // 집계 API 실패 시 목록만
+          list = (await fetchPerformances(stdate, eddate)).map((it) => ({ ...it, prices: [], enriched: false }));
+        }
         if (alive) setItems(list);
       } finally {
         if (alive) setLoading(false);
@@ -41,12 +53,19 @@ export default function PerformanceList() {
       <div className="grid">
         {items.map((it) => (
           <Link key={it.mt20id} to={`/performances/${it.mt20id}`} className="card">
-            <img src={it.poster} alt={it.prfnm} />
+            <img src={posterSrc(it.poster, "medium")} alt={it.prfnm} />
             <div className="meta">
               <div className="name">{it.prfnm}</div>
               <div className="sub">
                 {it.genrenm} · {it.fcltynm}
               </div>
+              {it.minPrice != null && (
+                <div className="sub">
+                  {it.maxPrice != null && it.maxPrice !== it.minPrice
+                    ? `${it.minPrice.toLocaleString()}원 ~ ${it.maxPrice.toLocaleString()}원`
+                    : `${it.minPrice.toLocaleString()}원`}
+                </div>
+              )}
             </div>
           </Link>
         ))}
@@ -2,6 +2,7 @@
 import { useEffect, useState } from "react";
 import { Link, useSearchParams } from "react-router-dom";
 import { fetchPerformances, type KopisListItem, formatDate } from "../api/kopis";
+import { posterSrc } from "../api/poster";
 import "../css/performance-list.css";
 
 export default function SearchPage() {
@@ -49,7 +50,7 @@ export default function SearchPage() {
         {items.length > 0 ? (
           items.map((it) => (
             <Link key={it.mt20id} to={`/performances/${it.mt20id}`} className="card">
-              <img src={it.poster} alt={it.prfnm} />
+              <img src={posterSrc(it.poster, "medium")} alt={it.prfnm} />
               <div className="meta">
                 <div className="name">{it.prfnm}</div>
                 <div className="sub">